@@ -0,0 +1,202 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A small JMH-style harness: each benchmark runs for a number of timed warmup
+ * iterations and then measured iterations; an iteration invokes the operation
+ * repeatedly for a fixed wall time.
+ *
+ * Reported per operation: average time (with standard deviation across iterations)
+ * and bytes allocated by the benchmark thread.
+ *
+ * Results may be written as CSV and compared against a previous CSV (the baseline);
+ * a benchmark regresses when it is slower than the baseline by more than the tolerance.
+ *
+ * Options (system properties):
+ *    bench.warmups     -- warmup iterations (default 3)
+ *    bench.iterations  -- measured iterations (default 5)
+ *    bench.millis      -- wall time of one iteration (default 500)
+ *    bench.filter      -- only run benchmarks whose name contains this text
+ */
+public class BenchmarkHarness
+{
+	/**
+	 * @param name -- benchmark name
+	 * @param params -- parameter description, e.g., "size=8"
+	 * @param nanosPerOp -- average time per operation
+	 * @param error -- standard deviation of the time per operation across iterations
+	 * @param bytesPerOp -- allocated bytes per operation; -1 if unavailable
+	 */
+	public record Result(String name, String params, double nanosPerOp, double error, double bytesPerOp)
+	{
+		public String key() { return name + "," + params; }
+
+		public String toCsv() { return String.format("%s,%s,%.1f,%.1f,%.1f", name, params, nanosPerOp, error, bytesPerOp); }
+
+		@Override
+		public String toString()
+		{
+			return String.format("%-50s %-10s %14.1f +- %10.1f ns/op %14.1f B/op", name, params, nanosPerOp, error, bytesPerOp);
+		}
+	}
+
+	// Results are consumed here so the JIT cannot discard the benchmarked work
+	private static volatile int _sink;
+
+	private static final com.sun.management.ThreadMXBean ALLOCATION =
+			(com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+
+	protected int _warmups;
+	protected int _iterations;
+	protected long _iterationNanos;
+	protected String _filter;
+
+	protected List<Result> _results;
+
+	public BenchmarkHarness()
+	{
+		_warmups = Integer.getInteger("bench.warmups", 3);
+		_iterations = Integer.getInteger("bench.iterations", 5);
+		_iterationNanos = Long.getLong("bench.millis", 500) * 1_000_000;
+		_filter = System.getProperty("bench.filter", "");
+
+		_results = new ArrayList<Result>();
+	}
+
+	public List<Result> getResults() { return _results; }
+
+	/**
+	 * @param name -- benchmark name
+	 * @param params -- parameter description
+	 * @param operation -- the operation to measure; its result is consumed
+	 * @return the measurement; null if the benchmark is filtered out
+	 */
+	public Result measure(String name, String params, Supplier<?> operation)
+	{
+		if (!name.contains(_filter)) return null;
+
+		for (int iteration = 0; iteration < _warmups; iteration++) iterate(operation);
+
+		double[] nanos = new double[_iterations];
+		long ops = 0;
+		long bytes = 0;
+
+		for (int iteration = 0; iteration < _iterations; iteration++)
+		{
+			long startBytes = ALLOCATION.getCurrentThreadAllocatedBytes();
+			long[] measured = iterate(operation);
+			bytes += ALLOCATION.getCurrentThreadAllocatedBytes() - startBytes;
+
+			nanos[iteration] = (double)measured[0] / measured[1];
+			ops += measured[1];
+		}
+
+		double mean = 0;
+		for (double value : nanos) mean += value / nanos.length;
+
+		double variance = 0;
+		for (double value : nanos) variance += (value - mean) * (value - mean) / Math.max(1, nanos.length - 1);
+
+		double bytesPerOp = ALLOCATION.isThreadAllocatedMemoryEnabled() ? (double)bytes / ops : -1;
+
+		Result result = new Result(name, params, mean, Math.sqrt(variance), bytesPerOp);
+		_results.add(result);
+		System.out.println(result);
+
+		return result;
+	}
+
+	/*
+	 * @return { elapsed nanos, operations }
+	 */
+	private long[] iterate(Supplier<?> operation)
+	{
+		long ops = 0;
+		long start = System.nanoTime();
+		long elapsed;
+
+		do
+		{
+			Object result = operation.get();
+			_sink ^= System.identityHashCode(result);
+			ops++;
+			elapsed = System.nanoTime() - start;
+		}
+		while (elapsed < _iterationNanos);
+
+		return new long[] { elapsed, ops };
+	}
+
+	/**
+	 * @param file -- destination of the results as CSV
+	 */
+	public void write(Path file) throws IOException
+	{
+		List<String> lines = new ArrayList<String>();
+		lines.add("benchmark,params,ns_per_op,error,bytes_per_op");
+
+		for (Result result : _results) lines.add(result.toCsv());
+
+		Files.write(file, lines);
+	}
+
+	/**
+	 * @param baseline -- results of a previous run (as written by write())
+	 * @param tolerance -- allowed slowdown, e.g. 0.10 for 10%
+	 * @return descriptions of the benchmarks slower than the baseline beyond the tolerance
+	 */
+	public List<String> regressions(Path baseline, double tolerance) throws IOException
+	{
+		Map<String, Double> previous = new HashMap<String, Double>();
+
+		for (String line : Files.readAllLines(baseline))
+		{
+			String[] fields = line.split(",");
+			if (fields.length < 3 || fields[0].equals("benchmark")) continue;
+
+			previous.put(fields[0] + "," + fields[1], Double.parseDouble(fields[2]));
+		}
+
+		List<String> regressions = new ArrayList<String>();
+
+		for (Result result : _results)
+		{
+			Double before = previous.get(result.key());
+
+			if (before != null && result.nanosPerOp() > before * (1 + tolerance))
+			{
+				regressions.add(String.format("%s %s: %.1f -> %.1f ns/op (+%.0f%%)", result.name(), result.params(),
+						                      before, result.nanosPerOp(), 100 * (result.nanosPerOp() / before - 1)));
+			}
+		}
+		return regressions;
+	}
+
+	/**
+	 * Shared entry point behavior: write results (bench.out) and fail the run when
+	 * regressing against a baseline (bench.baseline, bench.tolerance; default 10%).
+	 */
+	public void finish() throws IOException
+	{
+		String out = System.getProperty("bench.out");
+		if (out != null) write(Path.of(out));
+
+		String baseline = System.getProperty("bench.baseline");
+		if (baseline == null) return;
+
+		List<String> regressions = regressions(Path.of(baseline), Double.parseDouble(System.getProperty("bench.tolerance", "0.10")));
+
+		regressions.forEach(System.err::println);
+
+		if (!regressions.isEmpty()) System.exit(1);
+	}
+}
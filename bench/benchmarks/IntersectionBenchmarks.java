@@ -0,0 +1,219 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import geometry_objects.Segment;
+import geometry_objects.delegates.SegmentDelegate;
+import geometry_objects.delegates.intersections.IntersectionDelegate;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+import input.generator.FigureGenerator;
+import preprocessor.delegates.ImplicitPointPreprocessor;
+import utilities.OutTriple;
+
+/**
+ * Allocation of the segment intersection kernel: the inner loop of implicit point discovery.
+ *
+ * Every pair of segments of a random soup (FigureGenerator.randomSoup) is intersected with
+ *
+ *    boxed       the former kernel (see Boxed): a Point for every line intersection,
+ *                boxed Doubles for every line equation, a Segment per collinearity test
+ *    Point       IntersectionDelegate.segmentIntersection(Segment, Segment)
+ *    double[]    IntersectionDelegate.segmentIntersection(Segment, Segment, double[]);
+ *                caller-owned storage, nothing allocated
+ *
+ * and each operation reports the number of crossings (all three must agree).
+ *
+ *    java -cp bin benchmarks.IntersectionBenchmarks
+ *    java -Dbench.segments=100,400 -Dbench.density=0.2 -cp bin benchmarks.IntersectionBenchmarks
+ *
+ * Options: bench.segments (default 50,200), bench.density (default 0.1), bench.seed (default 1)
+ * and those of BenchmarkHarness.
+ */
+public class IntersectionBenchmarks
+{
+	public static void main(String[] args) throws Exception
+	{
+		BenchmarkHarness harness = new BenchmarkHarness();
+
+		double density = Double.parseDouble(System.getProperty("bench.density", "0.1"));
+		long seed = Long.parseLong(System.getProperty("bench.seed", "1"));
+
+		for (String count : System.getProperty("bench.segments", "50,200").split(","))
+		{
+			FigureGenerator generator = new FigureGenerator(seed);
+			Map.Entry<PointDatabase, Set<Segment>> soup =
+					InputFacade.toGeometryRepresentation(generator.randomSoup(Integer.parseInt(count.trim()), density));
+
+			List<Point> points = new ArrayList<Point>(soup.getKey().getPoints());
+			List<Segment> segments = new ArrayList<Segment>(soup.getValue());
+			String params = "segments=" + count.trim();
+
+			int boxed = Boxed.crossings(segments);
+			if (boxed != crossings(segments, new double[2]))
+			{
+				throw new IllegalStateException("kernels disagree on " + params);
+			}
+
+			harness.measure("intersection (boxed)", params, () -> Boxed.crossings(segments));
+
+			harness.measure("intersection (Point)", params, () ->
+			{
+				int crossings = 0;
+				for (int i = 0; i < segments.size(); i++)
+				{
+					for (int j = i + 1; j < segments.size(); j++)
+					{
+						if (IntersectionDelegate.segmentIntersection(segments.get(i), segments.get(j)) != null) crossings++;
+					}
+				}
+				return crossings;
+			});
+
+			double[] crossing = new double[2];
+			harness.measure("intersection (double[])", params, () -> crossings(segments, crossing));
+
+			harness.measure("ImplicitPointPreprocessor.computePairwise", params,
+					        () -> ImplicitPointPreprocessor.computePairwise(new PointDatabase(points), segments));
+
+			harness.measure("ImplicitPointPreprocessor.compute", params,
+					        () -> ImplicitPointPreprocessor.compute(new PointDatabase(points), segments));
+		}
+
+		harness.finish();
+	}
+
+	private static int crossings(List<Segment> segments, double[] crossing)
+	{
+		int crossings = 0;
+		for (int i = 0; i < segments.size(); i++)
+		{
+			for (int j = i + 1; j < segments.size(); j++)
+			{
+				if (IntersectionDelegate.segmentIntersection(segments.get(i), segments.get(j), crossing)) crossings++;
+			}
+		}
+		return crossings;
+	}
+
+	/*
+	 * The former (allocating) kernel, kept verbatim as the baseline.
+	 */
+	private static class Boxed
+	{
+		static int crossings(List<Segment> segments)
+		{
+			int crossings = 0;
+			for (int i = 0; i < segments.size(); i++)
+			{
+				for (int j = i + 1; j < segments.size(); j++)
+				{
+					if (segmentIntersection(segments.get(i), segments.get(j)) != null) crossings++;
+				}
+			}
+			return crossings;
+		}
+
+		static Point segmentIntersection(Segment thisS, Segment that)
+		{
+			Point inter = lineIntersection(thisS, that);
+
+			if (inter == null) return null;
+
+			if (!thisS.pointLiesBetweenEndpoints(inter)) return null;
+
+			if (!that.pointLiesBetweenEndpoints(inter)) return null;
+
+			return inter;
+		}
+
+		static Point lineIntersection(Segment thisS, Segment that)
+		{
+			if (coincideWithoutOverlap(thisS, that)) return null;
+
+			Point shared = thisS.sharedVertex(that);
+			if (shared != null) return shared;
+
+			double a, b, c, d, e, f;
+			final String name = "";
+
+			if (thisS.isVertical() && that.isHorizontal()) return new Point(name, thisS.getPoint1().getX(), that.getPoint1().getY());
+
+			if (that.isVertical() && thisS.isHorizontal()) return new Point(name, that.getPoint1().getX(), thisS.getPoint1().getY());
+
+			OutTriple<Double, Double, Double> out = new OutTriple<Double, Double, Double>();
+			if (thisS.isVertical())
+			{
+				makeLine(that, out);
+				return new Point(name, thisS.getPoint1().getX(), evaluateYGivenX(out.getFirst(), out.getSecond(), out.getThird(), thisS.getPoint1().getX()));
+			}
+			if (that.isVertical())
+			{
+				makeLine(thisS, out);
+				return new Point(name, that.getPoint1().getX(), evaluateYGivenX(out.getFirst(), out.getSecond(), out.getThird(), that.getPoint1().getX()));
+			}
+			if (thisS.isHorizontal())
+			{
+				makeLine(that, out);
+				return new Point(name, evaluateXGivenY(out.getFirst(), out.getSecond(), out.getThird(), thisS.getPoint1().getY()), thisS.getPoint1().getY());
+			}
+			if (that.isHorizontal())
+			{
+				makeLine(thisS, out);
+				return new Point(name, evaluateXGivenY(out.getFirst(), out.getSecond(), out.getThird(), that.getPoint1().getY()), that.getPoint1().getY());
+			}
+
+			makeLine(thisS, out);
+			a = out.getFirst();
+			b = out.getSecond();
+			e = out.getThird();
+
+			makeLine(that, out);
+			c = out.getFirst();
+			d = out.getSecond();
+			f = out.getThird();
+
+			double overallDeterminant = a * d - b * c;
+
+			return new Point(name, (e * d - b * f) / overallDeterminant, (a * f - e * c) / overallDeterminant);
+		}
+
+		static boolean coincideWithoutOverlap(Segment thisS, Segment that)
+		{
+			if (!thisS.isCollinearWith(that)) return false;
+
+			if (!thisS.isCollinearWith(new Segment(thisS.getPoint1(), that.getPoint1()))) return false;
+
+			Point sharedVertex = thisS.sharedVertex(that);
+
+			if (sharedVertex == null)
+			{
+				return !SegmentDelegate.pointLiesBetweenEndpoints(thisS, that.getPoint1()) &&
+					   !SegmentDelegate.pointLiesBetweenEndpoints(thisS, that.getPoint2()) &&
+					   !SegmentDelegate.pointLiesBetweenEndpoints(that, thisS.getPoint1()) &&
+					   !SegmentDelegate.pointLiesBetweenEndpoints(that, thisS.getPoint2());
+			}
+
+			return !SegmentDelegate.pointLiesBetweenEndpoints(thisS, that.other(sharedVertex)) &&
+				   !SegmentDelegate.pointLiesBetweenEndpoints(that, thisS.other(sharedVertex));
+		}
+
+		static void makeLine(Segment segment, OutTriple<Double, Double, Double> out)
+		{
+			double x_1 = segment.getPoint1().getX(), y_1 = segment.getPoint1().getY();
+			double x_2 = segment.getPoint2().getX(), y_2 = segment.getPoint2().getY();
+
+			double slope = (y_2 - y_1) / (x_2 - x_1);
+
+			out.set(-slope, 1.0, y_2 - slope * x_2);
+		}
+
+		static double evaluateYGivenX(double a, double b, double e, double x) { return (e - a * x) / b; }
+
+		static double evaluateXGivenY(double a, double b, double e, double y) { return (e - b * y) / a; }
+	}
+}
@@ -0,0 +1,128 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import geometry_objects.points.Point;
+import geometry_objects.points.PointNamingFactory;
+import geometry_objects.points.PointStore;
+
+/**
+ * Footprint and scan cost of the point database layouts for large figures:
+ *
+ *    map       the former layout: LinkedHashMap<Point, Point> of named points
+ *    store     PointStore: coordinates and names in parallel arrays by id
+ *
+ * Building reports the bytes allocated to hold the points (the footprint, plus the
+ * garbage of growing); scanning sums the coordinates of every point. Naming puts
+ * unnamed points into a PointNamingFactory (each is given a generated name).
+ *
+ *    java -cp bin benchmarks.PointStoreBenchmarks
+ *    java -Dbench.points=1000,100000 -cp bin benchmarks.PointStoreBenchmarks
+ *
+ * Options: bench.points (default 10000,100000) and those of BenchmarkHarness.
+ */
+public class PointStoreBenchmarks
+{
+	public static void main(String[] args) throws Exception
+	{
+		BenchmarkHarness harness = new BenchmarkHarness();
+
+		for (String count : System.getProperty("bench.points", "10000,100000").split(","))
+		{
+			int n = Integer.parseInt(count.trim());
+			String params = "points=" + n;
+
+			double[] xs = new double[n], ys = new double[n];
+			String[] names = new String[n];
+			Random random = new Random(1);
+			for (int i = 0; i < n; i++)
+			{
+				xs[i] = random.nextInt(1_000_000);
+				ys[i] = random.nextInt(1_000_000);
+				names[i] = "P" + i;
+			}
+
+			harness.measure("build (map)", params, () ->
+			{
+				Map<Point, Point> map = new LinkedHashMap<Point, Point>();
+				for (int i = 0; i < n; i++)
+				{
+					Point pt = new Point(names[i], xs[i], ys[i]);
+					map.putIfAbsent(pt, pt);
+				}
+				return map;
+			});
+
+			harness.measure("build (store)", params, () ->
+			{
+				PointStore store = new PointStore();
+				for (int i = 0; i < n; i++)
+				{
+					if (store.find(xs[i], ys[i]) == PointStore.NONE) store.add(names[i], xs[i], ys[i]);
+				}
+				return store;
+			});
+
+			Map<Point, Point> map = new LinkedHashMap<Point, Point>();
+			PointStore store = new PointStore(n);
+			for (int i = 0; i < n; i++)
+			{
+				Point pt = new Point(names[i], xs[i], ys[i]);
+				map.putIfAbsent(pt, pt);
+				if (store.find(xs[i], ys[i]) == PointStore.NONE) store.add(names[i], xs[i], ys[i]);
+			}
+
+			harness.measure("scan (map)", params, () ->
+			{
+				double sum = 0;
+				for (Point pt : map.keySet()) sum += pt.getX() + pt.getY();
+				return sum;
+			});
+
+			harness.measure("scan (store)", params, () ->
+			{
+				double sum = 0;
+				double[] storeXs = store.xs(), storeYs = store.ys();
+				for (int id = 0; id < store.idLimit(); id++)
+				{
+					if (store.isLive(id)) sum += storeXs[id] + storeYs[id];
+				}
+				return sum;
+			});
+
+			harness.measure("lookup (map)", params, () ->
+			{
+				int found = 0;
+				for (int i = 0; i < n; i++) if (map.containsKey(new Point(xs[i], ys[i]))) found++;
+				return found;
+			});
+
+			harness.measure("lookup (store)", params, () ->
+			{
+				int found = 0;
+				for (int i = 0; i < n; i++) if (store.find(xs[i], ys[i]) != PointStore.NONE) found++;
+				return found;
+			});
+
+			List<Point> unnamed = new ArrayList<Point>();
+			for (int i = 0; i < n; i++) unnamed.add(new Point(xs[i], ys[i]));
+
+			harness.measure("name (PointNamingFactory.putAll)", params, () ->
+			{
+				// put() names the very objects it stores: hand it fresh copies
+				List<Point> copies = new ArrayList<Point>(n);
+				for (Point pt : unnamed) copies.add(new Point(pt.getX(), pt.getY()));
+
+				PointNamingFactory factory = new PointNamingFactory();
+				factory.putAll(copies);
+				return factory;
+			});
+		}
+
+		harness.finish();
+	}
+}
@@ -0,0 +1,170 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import exceptions.FactException;
+import geometry_objects.Segment;
+import geometry_objects.angle.Angle;
+import geometry_objects.angle.AngleEquivalenceClasses;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import geometry_objects.points.PointNamingFactory;
+import preprocessor.AngleIdentifier;
+import preprocessor.Preprocessor;
+import preprocessor.TriangleIdentifier;
+import preprocessor.delegates.ImplicitPointPreprocessor;
+
+/**
+ * Throughput and allocation of the preprocessing, angle and triangle engines over
+ * lattice figures of increasing size (see lattice()).
+ *
+ *    java -cp bin benchmarks.PreprocessingBenchmarks
+ *    java -Dbench.sizes=2,4,8 -Dbench.filter=implicit -Dbench.out=now.csv -cp bin benchmarks.PreprocessingBenchmarks
+ *    java -Dbench.baseline=before.csv -cp bin benchmarks.PreprocessingBenchmarks   (exits 1 on a regression)
+ *
+ * Options: bench.sizes (default 2,3,4) and those of BenchmarkHarness.
+ */
+public class PreprocessingBenchmarks
+{
+	/*
+	 * The state shared by the benchmarks of one figure size.
+	 */
+	private static class Figure
+	{
+		protected final List<Point> _points;
+		protected final Set<Segment> _segments;
+
+		protected final Preprocessor _preprocessor;
+		protected final Map<Segment, Segment> _allSegments;
+		protected final Set<Segment> _minimal;
+		protected final List<Angle> _angles;
+
+		Figure(int size)
+		{
+			_points = new ArrayList<Point>();
+			_segments = new LinkedHashSet<Segment>();
+			lattice(size, _points, _segments);
+
+			_preprocessor = new Preprocessor(new PointDatabase(_points), new HashSet<Segment>(_segments));
+			_allSegments = _preprocessor.getAllSegments();
+
+			// minimal: no other segment of the figure is a subsegment
+			_minimal = new HashSet<Segment>();
+			for (Segment segment : _allSegments.keySet())
+			{
+				if (_allSegments.keySet().stream().noneMatch(other -> !other.equals(segment) && segment.HasSubSegment(other)))
+				{
+					_minimal.add(segment);
+				}
+			}
+
+			_angles = new ArrayList<Angle>();
+			for (Segment ray1 : _allSegments.keySet())
+			{
+				for (Segment ray2 : _allSegments.keySet())
+				{
+					try { _angles.add(new Angle(ray1, ray2)); }
+					catch (FactException e) { }
+				}
+			}
+		}
+	}
+
+	/**
+	 * A size x size lattice of points joined to their horizontal and vertical neighbours;
+	 * each cell also has both diagonals (which cross at an implicit point).
+	 */
+	public static void lattice(int size, List<Point> points, Set<Segment> segments)
+	{
+		Point[][] grid = new Point[size][size];
+
+		for (int x = 0; x < size; x++)
+		{
+			for (int y = 0; y < size; y++)
+			{
+				grid[x][y] = new Point("P" + x + "_" + y, x, y);
+				points.add(grid[x][y]);
+			}
+		}
+
+		for (int x = 0; x < size; x++)
+		{
+			for (int y = 0; y < size; y++)
+			{
+				if (x + 1 < size) segments.add(new Segment(grid[x][y], grid[x + 1][y]));
+				if (y + 1 < size) segments.add(new Segment(grid[x][y], grid[x][y + 1]));
+
+				if (x + 1 < size && y + 1 < size)
+				{
+					segments.add(new Segment(grid[x][y], grid[x + 1][y + 1]));
+					segments.add(new Segment(grid[x + 1][y], grid[x][y + 1]));
+				}
+			}
+		}
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		BenchmarkHarness harness = new BenchmarkHarness();
+
+		for (String size : System.getProperty("bench.sizes", "2,3,4").split(","))
+		{
+			Figure figure = new Figure(Integer.parseInt(size.trim()));
+			String params = "size=" + size.trim();
+
+			List<Segment> given = new ArrayList<Segment>(figure._segments);
+
+			harness.measure("ImplicitPointPreprocessor.compute", params,
+					        () -> ImplicitPointPreprocessor.compute(new PointDatabase(figure._points), given));
+
+			harness.measure("ImplicitPointPreprocessor.computePairwise", params,
+					        () -> ImplicitPointPreprocessor.computePairwise(new PointDatabase(figure._points), given));
+
+			harness.measure("Preprocessor.constructAllNonMinimalSegments", params,
+					        () -> figure._preprocessor.constructAllNonMinimalSegments(figure._minimal));
+
+			harness.measure("Preprocessor.constructAllNonMinimalSegmentsByLine", params,
+					        () -> figure._preprocessor.constructAllNonMinimalSegmentsByLine(figure._minimal));
+
+			harness.measure("AngleIdentifier.getAngles", params,
+					        () -> new AngleIdentifier(figure._allSegments).getAngles());
+
+			harness.measure("AngleIdentifier.computeAnglesByPairs", params,
+					        () -> new AngleIdentifier(figure._allSegments).computeAnglesByPairs());
+
+			harness.measure("AngleIdentifier.countAngleClasses", params,
+					        () -> new AngleIdentifier(figure._allSegments).countAngleClasses());
+
+			harness.measure("TriangleIdentifier.getTriangles", params,
+					        () -> new TriangleIdentifier(figure._allSegments).getTriangles());
+
+			harness.measure("TriangleIdentifier.countTriangles", params,
+					        () -> new TriangleIdentifier(figure._allSegments).countTriangles());
+
+			harness.measure("TriangleIdentifier.computeTrianglesByTriples", params,
+					        () -> new TriangleIdentifier(figure._allSegments).computeTrianglesByTriples());
+
+			harness.measure("AngleEquivalenceClasses.add", params, () ->
+			{
+				AngleEquivalenceClasses classes = new AngleEquivalenceClasses();
+				for (Angle angle : figure._angles) classes.add(angle);
+				return classes;
+			});
+
+			harness.measure("PointNamingFactory.put", params, () ->
+			{
+				// unnamed copies: put() names the points it stores
+				PointNamingFactory factory = new PointNamingFactory();
+				for (Point point : figure._points) factory.put(new Point(point.getX(), point.getY()));
+				return factory;
+			});
+		}
+
+		harness.finish();
+	}
+}
@@ -0,0 +1,127 @@
+package benchmarks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import preprocessor.TriangleIdentifier;
+import preprocessor.delegates.BitsetAdjacency;
+import preprocessor.delegates.VertexAdjacency;
+
+/**
+ * Triangle enumeration over random graphs on the points of a lattice: each pair of points
+ * is joined with probability bench.densities, so density 1 is the complete graph (many of
+ * its triples collinear), as in a figure with all of its non-minimal segments.
+ *
+ *    sparse      VertexAdjacency: merges the sorted out-lists of u and v
+ *    dense       BitsetAdjacency: ANDs the bitsets of u and v
+ *
+ * Both report the number of triangles (they must agree). VertexAdjacency.of() switches to
+ * the dense mode from BitsetAdjacency.DENSITY_THRESHOLD.
+ *
+ *    identifier  TriangleIdentifier.getTriangles(), sequential and in ForkJoinPools of
+ *                each of bench.threads threads (speedup needs as many cores; B/op counts
+ *                the calling thread only)
+ *    stream      TriangleIdentifier.triangles().count(): the triangles are not collected
+ *    count       TriangleIdentifier.countTriangles(): no Triangle is constructed
+ *    estimate    TriangleIdentifier.estimateTriangles() with a budget of bench.budget
+ *                milliseconds (the estimate and its interval are printed once)
+ *
+ *    java -cp bin benchmarks.TriangleBenchmarks
+ *    java -Dbench.lattice=12 -Dbench.densities=0.1,0.5 -Dbench.threads=8,32 -cp bin benchmarks.TriangleBenchmarks
+ *
+ * Options: bench.lattice (default 8: 64 points), bench.densities (default 0.05,0.1,0.25,0.5,1),
+ * bench.threads (default 1 and the available processors), bench.budget (default 1),
+ * bench.seed (default 1) and those of BenchmarkHarness.
+ */
+public class TriangleBenchmarks
+{
+	/*
+	 * The pairs of the points of a size x size lattice, each kept with probability @density
+	 */
+	public static List<Segment> randomGraph(int size, double density, long seed)
+	{
+		List<Point> points = new ArrayList<Point>();
+		for (int x = 0; x < size; x++)
+		{
+			for (int y = 0; y < size; y++) points.add(new Point(x, y));
+		}
+
+		Random random = new Random(seed);
+		List<Segment> segments = new ArrayList<Segment>();
+		for (int i = 0; i < points.size(); i++)
+		{
+			for (int j = i + 1; j < points.size(); j++)
+			{
+				if (random.nextDouble() < density) segments.add(new Segment(points.get(i), points.get(j)));
+			}
+		}
+
+		return segments;
+	}
+
+	public static void main(String[] args) throws Exception
+	{
+		BenchmarkHarness harness = new BenchmarkHarness();
+
+		int size = Integer.parseInt(System.getProperty("bench.lattice", "8"));
+		long seed = Long.parseLong(System.getProperty("bench.seed", "1"));
+		Duration budget = Duration.ofMillis(Long.parseLong(System.getProperty("bench.budget", "1")));
+
+		List<ForkJoinPool> pools = new ArrayList<ForkJoinPool>();
+		String processors = "1," + Runtime.getRuntime().availableProcessors();
+		for (String threads : System.getProperty("bench.threads", processors).split(","))
+		{
+			pools.add(new ForkJoinPool(Integer.parseInt(threads.trim())));
+		}
+
+		for (String density : System.getProperty("bench.densities", "0.05,0.1,0.25,0.5,1").split(","))
+		{
+			List<Segment> segments = randomGraph(size, Double.parseDouble(density.trim()), seed);
+			String params = "lattice=" + size + " density=" + density.trim();
+
+			VertexAdjacency sparse = new VertexAdjacency(segments);
+			BitsetAdjacency dense = new BitsetAdjacency(sparse);
+			if (sparse.countTriangles() != dense.countTriangles())
+			{
+				throw new IllegalStateException("modes disagree on " + params);
+			}
+
+			harness.measure("sparse", params, () -> count(sparse));
+			harness.measure("dense", params, () -> count(dense));
+
+			Map<Segment, Segment> map = new HashMap<Segment, Segment>();
+			for (Segment segment : segments) map.put(segment, segment);
+
+			harness.measure("identifier", params, () -> new TriangleIdentifier(map).getTriangles());
+			harness.measure("stream", params, () -> new TriangleIdentifier(map).triangles().count());
+			harness.measure("count", params, () -> new TriangleIdentifier(map).countTriangles());
+
+			System.out.println("# estimate " + params + ": " + new TriangleIdentifier(map).estimateTriangles(budget) +
+					           ", exactly " + sparse.countTriangles());
+			harness.measure("estimate", params, () -> new TriangleIdentifier(map).estimateTriangles(budget));
+			for (ForkJoinPool pool : pools)
+			{
+				harness.measure("identifier threads=" + pool.getParallelism(), params,
+						        () -> new TriangleIdentifier(map, pool).getTriangles());
+			}
+		}
+
+		for (ForkJoinPool pool : pools) pool.shutdown();
+
+		harness.finish();
+	}
+
+	private static long count(VertexAdjacency adjacency)
+	{
+		long[] count = new long[1];
+		adjacency.forEachTriangle((uv, vw, uw) -> count[0]++);
+		return count[0];
+	}
+}
@@ -1,6 +1,6 @@
 package geometry_objects;
 
-import java.util.Set;
+import java.util.Collection;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -9,7 +9,7 @@ import geometry_objects.delegates.SegmentDelegate;
 import geometry_objects.delegates.intersections.IntersectionDelegate;
 import geometry_objects.points.Point;
 import utilities.math.MathUtilities;
-import utilities.math.analytic_geometry.GeometryUtilities;
+import utilities.math.analytic_geometry.GeometryPredicates;
 
 /**
  * an class representing and undirected segment (a finite section of an infinite line)
@@ -31,8 +31,9 @@ public class Segment extends GeometricObject
 	public double length() { return _length; }
 	public double slope()
 	{
-		try { return GeometryUtilities.slope(_point1, _point2); }
-		catch(ArithmeticException ae) { return Double.POSITIVE_INFINITY; }
+		if (isVertical()) return Double.POSITIVE_INFINITY;
+
+		return (_point1.getY() - _point2.getY()) / (_point1.getX() - _point2.getX());
 	}
 
 	public Segment(Segment in) { this(in._point1, in._point2); }
@@ -176,7 +177,8 @@ public class Segment extends GeometricObject
 		if (!(isCollinearWith(that))) return false;
 
 		//check for parallel
-		if(!(isCollinearWith(new Segment(getPoint1(), that.getPoint1())))) return false;
+		if(!LineDelegate.areCollinear(_point1.getX(), _point1.getY(), _point2.getX(), _point2.getY(),
+				                      _point1.getX(), _point1.getY(), that._point1.getX(), that._point1.getY())) return false;
 
 		Point sharedVertex = sharedVertex(that);
 
@@ -213,7 +215,7 @@ public class Segment extends GeometricObject
 	 *
 	 * @return the sorted subset of Points that lie on this segment (ordered lexicographically)
 	 */
-	public SortedSet<Point> collectOrderedPointsOnSegment(Set<Point> points)
+	public SortedSet<Point> collectOrderedPointsOnSegment(Collection<Point> points)
 	{
 		SortedSet<Point> pointsOn = new TreeSet<Point>();
 
@@ -243,8 +245,11 @@ public class Segment extends GeometricObject
 		if(!LineDelegate.areCollinear(one, two)) return false;
 		
 		// returns whether or not the other end point is on one of the lines
-		return GeometryUtilities.between(two.other(vertex), vertex, one.other(vertex)) ||
-				GeometryUtilities.between(one.other(vertex), vertex, two.other(vertex));
+		Point end1 = one.other(vertex);
+		Point end2 = two.other(vertex);
+
+		return GeometryPredicates.between(end2.getX(), end2.getY(), vertex.getX(), vertex.getY(), end1.getX(), end1.getY()) ||
+				GeometryPredicates.between(end1.getX(), end1.getY(), vertex.getX(), vertex.getY(), end2.getX(), end2.getY());
 	}
 	
 	/**
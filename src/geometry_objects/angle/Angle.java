@@ -182,6 +182,17 @@ public class Angle implements Comparable<Angle>
 				            " = " + String.format("%1$.3f", _measure) + ")";
 	}
 
+	/**
+	 * Agrees with equals when the points are shared (welded) points: the vertex, and the ray
+	 * endpoints in either order. Points equal only within EPSILON may hash apart (Point.hashCode
+	 * truncates), so collections of angles with such points look them up by AnglePointsKey.
+	 */
+	@Override
+	public int hashCode()
+	{
+		return _vertex.hashCode() * 31 + _ray1Endpoint.hashCode() + _ray2Endpoint.hashCode();
+	}
+
 	/**
 	 * @returns true if an angle's end points are the same
 	 */
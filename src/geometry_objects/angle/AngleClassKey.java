@@ -0,0 +1,70 @@
+package geometry_objects.angle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import geometry_objects.points.Point;
+import utilities.eq_classes.ClassKey;
+import utilities.math.MathUtilities;
+
+/**
+ * The keys of angle equivalence classes (see AngleEquivalenceClasses): the grid cell of the
+ * vertex. The classes at one vertex share a key, and belongs decides among them.
+ *
+ * The rays are not keyed: segments within EPSILON of one another count as collinear, so the
+ * direction of a short segment may be off by about EPSILON / length, and no fixed arc width
+ * keeps every ray of a class in the same or a neighbouring arc.
+ *
+ * Angles of one class have vertices equal only within EPSILON (Point.equals), so, as in
+ * PointStore, the cells are much wider than EPSILON, and a vertex near the boundary of a cell
+ * is also looked up in the neighbouring cell; most angles probe a single key.
+ */
+public class AngleClassKey implements ClassKey<Angle>
+{
+	// Side of a cell, and how near a cell boundary a point must be to probe across it
+	private static final double CELL = 1024 * MathUtilities.EPSILON;
+	private static final double REACH = 2 * MathUtilities.EPSILON;
+
+	private record Key(long column, long row) { }
+
+	@Override
+	public Object keyOf(Angle angle)
+	{
+		Point vertex = angle.getVertex();
+
+		return new Key(cell(vertex.getX()), cell(vertex.getY()));
+	}
+
+	@Override
+	public List<Object> probeKeys(Angle angle)
+	{
+		Point vertex = angle.getVertex();
+
+		long[] columns = cells(vertex.getX());
+		long[] rows = cells(vertex.getY());
+
+		List<Object> keys = new ArrayList<Object>(columns.length * rows.length);
+		for (long column : columns)
+			for (long row : rows) keys.add(new Key(column, row));
+
+		return keys;
+	}
+
+	static long cell(double coordinate)
+	{
+		return (long) Math.floor(coordinate / CELL);
+	}
+
+	/*
+	 * @return the cell of the coordinate, then the neighbouring cell within REACH of it (if any)
+	 */
+	static long[] cells(double coordinate)
+	{
+		long cell = cell(coordinate);
+
+		if (coordinate - cell * CELL < REACH) return new long[] { cell, cell - 1 };
+		if ((cell + 1) * CELL - coordinate < REACH) return new long[] { cell, cell + 1 };
+
+		return new long[] { cell };
+	}
+}
@@ -21,6 +21,10 @@ import utilities.eq_classes.EquivalenceClasses;
  *   canonical = BAE
  *   rest = BAF, CAE, DAE, CAF, DAF
  * 
+ * Angles are in the same class exactly when they have the same vertex and the same ray
+ * directions, so the classes are indexed by their vertex (see AngleClassKey), and only the
+ * classes at the vertex of an angle are asked whether it belongs.
+ * 
  * @author Ellie Johnson, Jack Roberts, Della Avent
  * @date   April 19 2024
  */
@@ -28,7 +32,7 @@ public class AngleEquivalenceClasses extends EquivalenceClasses<Angle>
 {
 	public AngleEquivalenceClasses() 
 	{
-		super(new AngleStructureComparator());
+		super(new AngleStructureComparator(), new AngleClassKey());
 	}	
 	
 	@Override
@@ -37,7 +41,7 @@ public class AngleEquivalenceClasses extends EquivalenceClasses<Angle>
 		
 		//if there is a linked equivalence class to belong in, add it
 		if(index > -1) {
-			_classes.get(index).add(element);
+			addToClass(index, element);
 			return false;
 		}
 
@@ -45,7 +49,7 @@ public class AngleEquivalenceClasses extends EquivalenceClasses<Angle>
 		AngleLinkedEquivalenceClass equivalence = new AngleLinkedEquivalenceClass();
 		
 		if(equivalence.add(element)) {
-			_classes.add(equivalence);
+			addNewClass(equivalence);
 			return true;
 		}
 		
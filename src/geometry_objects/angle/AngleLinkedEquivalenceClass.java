@@ -1,6 +1,7 @@
 package geometry_objects.angle;
 
 import geometry_objects.angle.comparators.AngleStructureComparator;
+import utilities.LinkedHashList;
 import utilities.eq_classes.LinkedEquivalenceClass;
 
 /**
@@ -31,6 +32,17 @@ public class AngleLinkedEquivalenceClass extends LinkedEquivalenceClass<Angle>
 		super(new AngleStructureComparator());
 	}
 	
+	/**
+	 * @return an empty list for the members other than the canonical, keyed by their points
+	 *         (see AnglePointsKey): members whose points are equal only within EPSILON are
+	 *         still found (Angle.hashCode is not enough there)
+	 */
+	@Override
+	protected LinkedHashList<Angle> newMemberList()
+	{
+		return new LinkedHashList<Angle>(new AnglePointsKey());
+	}
+	
 	/**
 	 * checks whether an element can be added, or "belongs"
 	 * @param element
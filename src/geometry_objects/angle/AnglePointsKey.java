@@ -0,0 +1,73 @@
+package geometry_objects.angle;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import geometry_objects.points.Point;
+import utilities.eq_classes.ClassKey;
+
+/**
+ * The keys of single angles under Angle.equals (see AngleLinkedEquivalenceClass): the grid
+ * cells of the vertex and of the two ray endpoints (in either order).
+ *
+ * Equal angles have points equal only within EPSILON (Point.equals), so, as in AngleClassKey,
+ * each point is also looked up in the neighbouring cell when it is near a cell boundary; most
+ * angles probe a single key.
+ */
+public class AnglePointsKey implements ClassKey<Angle>
+{
+	// The endpoint cells in increasing order: the rays of an angle are unordered
+	private record Key(long vertexColumn, long vertexRow, long column1, long row1, long column2, long row2)
+	{
+		Key
+		{
+			if (column1 > column2 || (column1 == column2 && row1 > row2))
+			{
+				long swap = column1;
+				column1 = column2;
+				column2 = swap;
+
+				swap = row1;
+				row1 = row2;
+				row2 = swap;
+			}
+		}
+	}
+
+	@Override
+	public Object keyOf(Angle angle)
+	{
+		Point vertex = angle.getVertex();
+		Point endpoint1 = angle.getRayEndpoint1();
+		Point endpoint2 = angle.getRayEndpoint2();
+
+		return new Key(AngleClassKey.cell(vertex.getX()), AngleClassKey.cell(vertex.getY()),
+				       AngleClassKey.cell(endpoint1.getX()), AngleClassKey.cell(endpoint1.getY()),
+				       AngleClassKey.cell(endpoint2.getX()), AngleClassKey.cell(endpoint2.getY()));
+	}
+
+	@Override
+	public List<Object> probeKeys(Angle angle)
+	{
+		Point vertex = angle.getVertex();
+		Point endpoint1 = angle.getRayEndpoint1();
+		Point endpoint2 = angle.getRayEndpoint2();
+
+		long[] vertexColumns = AngleClassKey.cells(vertex.getX());
+		long[] vertexRows = AngleClassKey.cells(vertex.getY());
+		long[] columns1 = AngleClassKey.cells(endpoint1.getX());
+		long[] rows1 = AngleClassKey.cells(endpoint1.getY());
+		long[] columns2 = AngleClassKey.cells(endpoint2.getX());
+		long[] rows2 = AngleClassKey.cells(endpoint2.getY());
+
+		List<Object> keys = new ArrayList<Object>();
+		for (long vertexColumn : vertexColumns)
+			for (long vertexRow : vertexRows)
+				for (long column1 : columns1)
+					for (long row1 : rows1)
+						for (long column2 : columns2)
+							for (long row2 : rows2) keys.add(new Key(vertexColumn, vertexRow, column1, row1, column2, row2));
+
+		return keys;
+	}
+}
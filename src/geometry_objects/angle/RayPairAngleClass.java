@@ -0,0 +1,188 @@
+package geometry_objects.angle;
+
+import java.util.function.Consumer;
+
+import exceptions.FactException;
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import utilities.LinkedHashList;
+
+/**
+ * The angle equivalence class of two rays at a vertex, given by the segments along each ray:
+ * every segment of one ray with every segment of the other is an angle of the class.
+ *
+ *    A-------B----C-----------D
+ *     \
+ *      E
+ *       \
+ *        F
+ *
+ * With rays {AB, AC, AD} and {AE, AF}: canonical = BAE (the shortest segment of each ray),
+ * rest = BAF, CAE, DAE, CAF, DAF.
+ *
+ * The members other than the canonical are not stored: they are constructed when enumerated
+ * (forEachMember) and recognized from the segments (contains). A change to the class other
+ * than adding a member it already has first stores them (as in AngleLinkedEquivalenceClass).
+ */
+public class RayPairAngleClass extends AngleLinkedEquivalenceClass
+{
+	// The segments of the two rays; null once the members are stored
+	protected Segment[] _ray1;
+	protected Segment[] _ray2;
+
+	/**
+	 * @param ray1 -- the segments along one ray of a vertex
+	 * @param ray2 -- the segments along another ray of the same vertex
+	 * @throws FactException if the shortest segments of the rays do not form an angle
+	 */
+	public RayPairAngleClass(Segment[] ray1, Segment[] ray2) throws FactException
+	{
+		_ray1 = ray1;
+		_ray2 = ray2;
+
+		_canonical = new Angle(shortest(ray1), shortest(ray2));
+	}
+
+	private static Segment shortest(Segment[] ray)
+	{
+		Segment shortest = null;
+		double shortestLength = Double.POSITIVE_INFINITY;
+		for (Segment segment : ray)
+		{
+			double length = Point.distance(segment.getPoint1(), segment.getPoint2());
+			if (length < shortestLength)
+			{
+				shortest = segment;
+				shortestLength = length;
+			}
+		}
+		return shortest;
+	}
+
+	private boolean isLazy() { return _ray1 != null; }
+
+	/*
+	 * The members other than the canonical, constructed one at a time
+	 */
+	private void forEachNonCanonical(Consumer<? super Angle> action)
+	{
+		for (Segment segment1 : _ray1)
+		{
+			for (Segment segment2 : _ray2)
+			{
+				if (segment1 == _canonical.getRay1() && segment2 == _canonical.getRay2()) continue;
+
+				try { action.accept(new Angle(segment1, segment2)); }
+				catch (FactException e) { }
+			}
+		}
+	}
+
+	/*
+	 * Stores the members (in _rest) so that the class can change as any other
+	 */
+	private void materialize()
+	{
+		if (!isLazy()) return;
+
+		LinkedHashList<Angle> rest = newMemberList();
+		forEachNonCanonical(rest::addToBack);
+
+		_rest = rest;
+		_ray1 = null;
+		_ray2 = null;
+	}
+
+	private static boolean has(Segment[] ray, Segment segment)
+	{
+		for (Segment candidate : ray)
+		{
+			if (candidate.equals(segment)) return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void forEachMember(Consumer<? super Angle> action)
+	{
+		if (!isLazy())
+		{
+			super.forEachMember(action);
+			return;
+		}
+
+		action.accept(_canonical);
+		forEachNonCanonical(action);
+	}
+
+	@Override
+	public int size()
+	{
+		return isLazy() ? _ray1.length * _ray2.length : super.size();
+	}
+
+	@Override
+	public boolean contains(Angle element)
+	{
+		if (!isLazy()) return super.contains(element);
+
+		if (!belongs(element)) return false;
+
+		return (has(_ray1, element.getRay1()) && has(_ray2, element.getRay2())) ||
+			   (has(_ray1, element.getRay2()) && has(_ray2, element.getRay1()));
+	}
+
+	@Override
+	public boolean add(Angle element)
+	{
+		if (isLazy() && contains(element)) return false;
+
+		materialize();
+		return super.add(element);
+	}
+
+	@Override
+	public boolean remove(Angle element)
+	{
+		materialize();
+		return super.remove(element);
+	}
+
+	@Override
+	public boolean removeCanonical()
+	{
+		materialize();
+		return super.removeCanonical();
+	}
+
+	@Override
+	public boolean demoteAndSetCanonical(Angle element)
+	{
+		materialize();
+		return super.demoteAndSetCanonical(element);
+	}
+
+	@Override
+	public void clear()
+	{
+		materialize();
+		super.clear();
+	}
+
+	@Override
+	public void clearNonCanonical()
+	{
+		materialize();
+		super.clearNonCanonical();
+	}
+
+	@Override
+	public String toString()
+	{
+		if (!isLazy()) return super.toString();
+
+		StringBuilder s = new StringBuilder(_canonical.toString() + ":");
+		forEachNonCanonical(angle -> s.append(angle + ","));
+		return s.toString();
+	}
+}
@@ -16,7 +16,7 @@ import java.util.Comparator;
 import geometry_objects.Segment;
 import geometry_objects.angle.Angle;
 import geometry_objects.points.Point;
-import utilities.math.analytic_geometry.GeometryUtilities;
+import utilities.math.analytic_geometry.GeometryPredicates;
 
 public class AngleStructureComparator implements Comparator<Angle>
 {
@@ -71,19 +71,26 @@ public class AngleStructureComparator implements Comparator<Angle>
 		Segment thatone = that.getRay1();
 		Segment thattwo = that.getRay2();
 		
-		if(GeometryUtilities.between(thisone.other(vertex), vertex, thatone.other(vertex)) &&
-		   GeometryUtilities.between(thistwo.other(vertex), vertex, thattwo.other(vertex))) 	return -1;
+		if(between(thisone.other(vertex), vertex, thatone.other(vertex)) &&
+		   between(thistwo.other(vertex), vertex, thattwo.other(vertex))) 	return -1;
 		
-		if(GeometryUtilities.between(thisone.other(vertex), vertex, thattwo.other(vertex)) &&
-		   GeometryUtilities.between(thistwo.other(vertex), vertex, thatone.other(vertex))) 	return -1;
+		if(between(thisone.other(vertex), vertex, thattwo.other(vertex)) &&
+		   between(thistwo.other(vertex), vertex, thatone.other(vertex))) 	return -1;
 		
-		if(GeometryUtilities.between(thatone.other(vertex), vertex, thisone.other(vertex)) &&
-		   GeometryUtilities.between(thattwo.other(vertex), vertex, thistwo.other(vertex))) 	return 1;
+		if(between(thatone.other(vertex), vertex, thisone.other(vertex)) &&
+		   between(thattwo.other(vertex), vertex, thistwo.other(vertex))) 	return 1;
 		
-		if(GeometryUtilities.between(thatone.other(vertex), vertex, thistwo.other(vertex)) &&
-		   GeometryUtilities.between(thattwo.other(vertex), vertex, thisone.other(vertex))) 	return 1;
+		if(between(thatone.other(vertex), vertex, thistwo.other(vertex)) &&
+		   between(thattwo.other(vertex), vertex, thisone.other(vertex))) 	return 1;
 			
 		return 0;
 	}
-}
 
+	/*
+	 * @return true if M lies on segment AB (endpoints included)
+	 */
+	private static boolean between(Point M, Point A, Point B)
+	{
+		return GeometryPredicates.between(M.getX(), M.getY(), A.getX(), A.getY(), B.getX(), B.getY());
+	}
+}
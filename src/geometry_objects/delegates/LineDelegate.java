@@ -2,6 +2,7 @@ package geometry_objects.delegates;
 
 import geometry_objects.Segment;
 import utilities.math.MathUtilities;
+import utilities.math.analytic_geometry.GeometryPredicates;
 
 /*
  * A processing, delegation class.
@@ -16,20 +17,32 @@ public class LineDelegate
      */
     public static boolean areCollinear(Segment thisS, Segment that)
     {
+        return areCollinear(thisS.getPoint1().getX(), thisS.getPoint1().getY(),
+                            thisS.getPoint2().getX(), thisS.getPoint2().getY(),
+                            that.getPoint1().getX(), that.getPoint1().getY(),
+                            that.getPoint2().getX(), that.getPoint2().getY());
+    }
+
+    /*
+     * areCollinear over raw coordinates: the segments (x1, y1)-(x2, y2) and (x3, y3)-(x4, y4)
+     */
+    public static boolean areCollinear(double x1, double y1, double x2, double y2,
+                                       double x3, double y3, double x4, double y4)
+    {
+        boolean thisVertical = MathUtilities.doubleEquals(x1, x2);
+        boolean thatVertical = MathUtilities.doubleEquals(x3, x4);
+
         // If the segments are vertical, just compare the X values of one point of each
         // Also ensure that the segments have some overlap
-        if (thisS.isVertical() && that.isVertical())
-        {
-            return MathUtilities.doubleEquals(thisS.getPoint1().getX(), that.getPoint1().getX());
-        }
+        if (thisVertical && thatVertical) return MathUtilities.doubleEquals(x1, x3);
 
         // If the segments are horizontal, just compare the Y values of one point of each; this is redundant
-        if (thisS.isHorizontal() && that.isHorizontal())
+        if (MathUtilities.doubleEquals(y1, y2) && MathUtilities.doubleEquals(y3, y4))
         {
-            return MathUtilities.doubleEquals(thisS.getPoint1().getY(), that.getPoint2().getY());
+            return MathUtilities.doubleEquals(y1, y4);
         }
 
-        // Slopes equate
-        return MathUtilities.doubleEquals(thisS.slope(), that.slope());
+        // Slopes equate (compared without dividing; see GeometryPredicates.sameSlope)
+        return GeometryPredicates.sameSlope(x1 - x2, y1 - y2, x3 - x4, y3 - y4);
     }
 }
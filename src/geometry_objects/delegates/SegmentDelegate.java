@@ -2,7 +2,7 @@ package geometry_objects.delegates;
 
 import geometry_objects.points.Point;
 import geometry_objects.Segment;
-import utilities.math.analytic_geometry.GeometryUtilities;
+import utilities.math.analytic_geometry.GeometryPredicates;
 
 /*
  * A processing, delegation class.
@@ -61,7 +61,9 @@ public class SegmentDelegate extends FigureDelegate
 	{
 		if (pt == null) return false;
 
-		return GeometryUtilities.between(pt, segment.getPoint1(), segment.getPoint2());
+		return GeometryPredicates.between(pt.getX(), pt.getY(),
+				                          segment.getPoint1().getX(), segment.getPoint1().getY(),
+				                          segment.getPoint2().getX(), segment.getPoint2().getY());
 	}
 
 	/*
@@ -70,8 +72,10 @@ public class SegmentDelegate extends FigureDelegate
 	 */
 	public static boolean pointLiesBetweenEndpoints(Segment segment, Point pt)
 	{
-		if (pt == null || segment.has(pt)) return false;
+		if (pt == null) return false;
 
-		return GeometryUtilities.between(pt, segment.getPoint1(), segment.getPoint2());
+		return GeometryPredicates.strictlyBetween(pt.getX(), pt.getY(),
+				                                  segment.getPoint1().getX(), segment.getPoint1().getY(),
+				                                  segment.getPoint2().getX(), segment.getPoint2().getY());
 	}
 }
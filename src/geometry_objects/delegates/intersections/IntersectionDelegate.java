@@ -18,4 +18,13 @@ public class IntersectionDelegate extends FigureDelegate
 
         return null;
     }
+
+    /*
+     * <Segment, Segment> Intersection (finite treatment of segments) into caller-owned
+     * storage { x, y }; no allocation. True if the segments cross.
+     */
+    public static boolean segmentIntersection(Segment thisS, Segment that, double[] out)
+    {
+        return SegmentIntersectionDelegate.findIntersection(thisS, that, out);
+    }
 }
@@ -2,7 +2,6 @@ package geometry_objects.delegates.intersections;
 
 import geometry_objects.points.Point;
 import geometry_objects.Segment;
-import utilities.OutTriple;
 
 /*
  * This class treats all lines as infinite (in both directions)
@@ -16,80 +15,90 @@ public class LineIntersectionDelegate
      * @return the point at which these lines (infinite) intersection; null for coinciding lines
      */
     public static Point intersection(Segment thisS, Segment that)
+    {
+        double[] out = new double[2];
+
+        if (!intersection(thisS, that, out)) return null;
+
+        Point shared = thisS.sharedVertex(that);
+
+        return shared != null ? shared : new Point(out[0], out[1]);
+    }
+
+    /*
+     * <Line, Line> intersection without allocation: the coordinates are written to @out.
+     *
+     * @param out -- caller-owned storage for { x, y }
+     * @return false for coinciding lines (@out is untouched); true otherwise. Parallel lines
+     *         produce non-finite coordinates.
+     */
+    public static boolean intersection(Segment thisS, Segment that, double[] out)
     {
         // Special Case: Collinear, but non-overlapping.
-        if (thisS.coincideWithoutOverlap(that)) return null;
+        if (thisS.coincideWithoutOverlap(that)) return false;
 
         // Special Case: Intersect at an endpoint
         Point shared = thisS.sharedVertex(that);
-        if (shared != null) return shared;
+        if (shared != null) return set(out, shared.getX(), shared.getY());
 
-        double a, b, c, d, e, f;
-        final String name = "";
+        double x1 = thisS.getPoint1().getX(), y1 = thisS.getPoint1().getY();
+        double x2 = thisS.getPoint2().getX(), y2 = thisS.getPoint2().getY();
+        double x3 = that.getPoint1().getX(), y3 = that.getPoint1().getY();
+        double x4 = that.getPoint2().getX(), y4 = that.getPoint2().getY();
 
-        if (thisS.isVertical() && that.isHorizontal()) return new Point(name, thisS.getPoint1().getX(), that.getPoint1().getY());
+        boolean thisVertical = thisS.isVertical(), thatVertical = that.isVertical();
+        boolean thisHorizontal = thisS.isHorizontal(), thatHorizontal = that.isHorizontal();
 
-        if (that.isVertical() && thisS.isHorizontal()) return new Point(name, that.getPoint1().getX(), thisS.getPoint1().getY());
+        if (thisVertical && thatHorizontal) return set(out, x1, y3);
 
-        OutTriple<Double, Double, Double> out = new OutTriple<Double, Double, Double>(); 
-        if (thisS.isVertical())
+        if (thatVertical && thisHorizontal) return set(out, x3, y1);
+
+        //
+        // Each line as  -slope x + y = intercept  (i.e., ax + by = e with b = 1)
+        //
+        if (thisVertical)
         {
-            makeLine(that.getPoint1().getX(), that.getPoint1().getY(), that.getPoint2().getX(), that.getPoint2().getY(), out);// a, out b, out e);
-            a = out.getFirst();
-            b = out.getSecond();
-            e = out.getThird();
-            return new Point(name, thisS.getPoint1().getX(), evaluateYGivenX(a, b, e, thisS.getPoint1().getX()));
+            double slope = (y4 - y3) / (x4 - x3);
+            return set(out, x1, evaluateYGivenX(-slope, intercept(slope, x4, y4), x1));
         }
-        if (that.isVertical())
+        if (thatVertical)
         {
-            makeLine(thisS.getPoint1().getX(), thisS.getPoint1().getY(), thisS.getPoint2().getX(), thisS.getPoint2().getY(), out);
-            a = out.getFirst();
-            b = out.getSecond();
-            e = out.getThird();
-            return new Point(name, that.getPoint1().getX(), evaluateYGivenX(a, b, e, that.getPoint1().getX()));
+            double slope = (y2 - y1) / (x2 - x1);
+            return set(out, x3, evaluateYGivenX(-slope, intercept(slope, x2, y2), x3));
         }
-        if (thisS.isHorizontal())
+        if (thisHorizontal)
         {
-            makeLine(that.getPoint1().getX(), that.getPoint1().getY(), that.getPoint2().getX(), that.getPoint2().getY(), out);
-            a = out.getFirst();
-            b = out.getSecond();
-            e = out.getThird();
-
-            return new Point(name, evaluateXGivenY(a, b, e, thisS.getPoint1().getY()), thisS.getPoint1().getY());
+            double slope = (y4 - y3) / (x4 - x3);
+            return set(out, evaluateXGivenY(-slope, intercept(slope, x4, y4), y1), y1);
         }
-        if (that.isHorizontal())
+        if (thatHorizontal)
         {
-            makeLine(thisS.getPoint1().getX(), thisS.getPoint1().getY(), thisS.getPoint2().getX(), thisS.getPoint2().getY(), out);
-            a = out.getFirst();
-            b = out.getSecond();
-            e = out.getThird();
-
-            return new Point(name, evaluateXGivenY(a, b, e, that.getPoint1().getY()), that.getPoint1().getY());
+            double slope = (y2 - y1) / (x2 - x1);
+            return set(out, evaluateXGivenY(-slope, intercept(slope, x2, y2), y3), y3);
         }
 
         //
         // ax + by = e
         // cx + dy = f
-        // 
+        //
+        double thisSlope = (y2 - y1) / (x2 - x1);
+        double a = -thisSlope, b = 1, e = intercept(thisSlope, x2, y2);
 
-        makeLine(thisS.getPoint1().getX(), thisS.getPoint1().getY(), thisS.getPoint2().getX(), thisS.getPoint2().getY(), out);
-        a = out.getFirst();
-        b = out.getSecond();
-        e = out.getThird();
+        double thatSlope = (y4 - y3) / (x4 - x3);
+        double c = -thatSlope, d = 1, f = intercept(thatSlope, x4, y4);
 
-        makeLine(that.getPoint1().getX(), that.getPoint1().getY(), that.getPoint2().getX(), that.getPoint2().getY(), out);
-        c = out.getFirst();
-        d = out.getSecond();
-        f = out.getThird();
+        double overallDeterminant = determinant(a, b, c, d);
 
-        
-        double overallDeterminant = a * d - b * c;
-        double x = determinant(e, b, f, d) / overallDeterminant;
-        double y = determinant(a, e, c, f) / overallDeterminant;
+        return set(out, determinant(e, b, f, d) / overallDeterminant, determinant(a, e, c, f) / overallDeterminant);
+    }
 
-        return new Point(name, x, y);
+    private static boolean set(double[] out, double x, double y)
+    {
+        out[0] = x;
+        out[1] = y;
+        return true;
     }
-    
+
     //
     // Determine the intersection point of the two segments
     //
@@ -102,25 +111,21 @@ public class LineIntersectionDelegate
         return a * d - b * c;
     }
 
-    private static void makeLine(double x_1, double y_1, double x_2, double y_2, OutTriple<Double, Double, Double> out)
+    // The line through (x, y) with the given slope crosses the y-axis here
+    private static double intercept(double slope, double x, double y)
     {
-        double slope = (y_2 - y_1) / (x_2 - x_1);
-        double a = - slope;
-        double b = 1;
-        double c = y_2 - slope * x_2;
-
-        out.set(a, b, c);
+        return y - slope * x;
     }
 
-    private static double evaluateYGivenX(double a, double b, double e, double x)
+    private static double evaluateYGivenX(double a, double e, double x)
     {
-        // ax + by = e
-        return (e - a * x) / b;
+        // ax + y = e, so y = e - ax
+        return e - a * x;
     }
 
-    private static double evaluateXGivenY(double a, double b, double e, double y)
+    private static double evaluateXGivenY(double a, double e, double y)
     {
-        // ax + by = e
-        return (e - b * y) / a;
+        // ax + y = e, so x = (e - y) / a
+        return (e - y) / a;
     }
 }
@@ -3,6 +3,7 @@ package geometry_objects.delegates.intersections;
 import geometry_objects.delegates.FigureDelegate;
 import geometry_objects.points.Point;
 import geometry_objects.Segment;
+import utilities.math.analytic_geometry.GeometryPredicates;
 
 public class SegmentIntersectionDelegate extends FigureDelegate
 {
@@ -13,16 +14,31 @@ public class SegmentIntersectionDelegate extends FigureDelegate
      * @return the intersection of @thisS and @that
      */
     public static Point findIntersection(Segment thisS, Segment that)
+    {
+        double[] crossing = new double[2];
+
+        if (!findIntersection(thisS, that, crossing)) return null;
+
+        return new Point(crossing[0], crossing[1]);
+    }
+
+    /*
+     * <Segment, Segment> intersection without allocation
+     * @param out -- caller-owned storage; receives { x, y } of the crossing
+     * @return true if the segments cross at a point strictly between the endpoints of each
+     */
+    public static boolean findIntersection(Segment thisS, Segment that, double[] out)
     {
         // <line, line> intersection
-        Point inter = LineIntersectionDelegate.intersection(thisS, that);
- 
+        if (!LineIntersectionDelegate.intersection(thisS, that, out)) return false;
+
         // Point lies on both segments
-        
-        if (!thisS.pointLiesBetweenEndpoints(inter)) return null;
+        return liesBetweenEndpoints(thisS, out[0], out[1]) && liesBetweenEndpoints(that, out[0], out[1]);
+    }
 
-        if (!that.pointLiesBetweenEndpoints(inter)) return null;
-        
-        return inter;        
+    private static boolean liesBetweenEndpoints(Segment segment, double x, double y)
+    {
+        return GeometryPredicates.strictlyBetween(x, y, segment.getPoint1().getX(), segment.getPoint1().getY(),
+                                                        segment.getPoint2().getX(), segment.getPoint2().getY());
     }
 }
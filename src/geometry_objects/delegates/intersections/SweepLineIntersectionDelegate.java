@@ -0,0 +1,309 @@
+package geometry_objects.delegates.intersections;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import geometry_objects.delegates.FigureDelegate;
+import geometry_objects.points.Point;
+import geometry_objects.Segment;
+import utilities.math.MathUtilities;
+
+/*
+ * A Bentley-Ottmann style sweep over a collection of (finite) segments.
+ *
+ * A vertical sweep line moves left to right over the endpoints of the segments;
+ * the segments currently cut by the sweep line are kept in a balanced tree ordered
+ * bottom to top. Only segments that are adjacent in that order can cross next, so
+ * only adjacent pairs are ever handed to IntersectionDelegate.segmentIntersection.
+ *
+ * The crossings reported are exactly those of the pairwise approach: points that lie
+ * strictly between the endpoints of both segments. Cost is O((n + k) log n) for
+ * n segments and k crossings.
+ */
+public class SweepLineIntersectionDelegate extends FigureDelegate
+{
+    /*
+     * Events are ordered lexicographically (x, then y) with the usual epsilon tolerance;
+     * crossings computed from different pairs of segments at the 'same' location are merged.
+     */
+    private static final Comparator<Point> EVENT_ORDER = (p1, p2) -> compare(p1.getX(), p1.getY(), p2.getX(), p2.getY());
+
+    private static int compare(double x1, double y1, double x2, double y2)
+    {
+        if (!MathUtilities.doubleEquals(x1, x2)) return x1 < x2 ? -1 : 1;
+        if (!MathUtilities.doubleEquals(y1, y2)) return y1 < y2 ? -1 : 1;
+        return 0;
+    }
+
+    /*
+     * @param segments -- a collection of segments
+     * @return the distinct points at which two segments cross (excluding endpoints);
+     *         ordered by sweep position (left to right, bottom to top)
+     */
+    public static List<Point> findIntersections(List<Segment> segments)
+    {
+        return new Sweep(segments).run();
+    }
+
+    /*
+     * A segment oriented left to right (bottom to top for vertical segments).
+     */
+    private static class SweptSegment
+    {
+        protected final int _id;
+        protected final Segment _segment;
+
+        protected final double _leftX, _leftY;
+        protected final double _rightX, _rightY;
+        protected final boolean _vertical;
+        protected final double _slope;
+
+        protected boolean _inStatus;
+
+        SweptSegment(int id, Segment segment, Point left, Point right)
+        {
+            _id = id;
+            _segment = segment;
+            _leftX = left.getX();
+            _leftY = left.getY();
+            _rightX = right.getX();
+            _rightY = right.getY();
+            _vertical = MathUtilities.doubleEquals(_leftX, _rightX);
+            _slope = _vertical ? Double.POSITIVE_INFINITY : (_rightY - _leftY) / (_rightX - _leftX);
+        }
+    }
+
+    /*
+     * An event point: segments starting here and segments ending here.
+     * Crossings scheduled here record the point computed for the first pair found.
+     */
+    private static class Event
+    {
+        protected final Point _point;
+        protected final List<SweptSegment> _starting = new ArrayList<SweptSegment>();
+        protected final List<SweptSegment> _ending = new ArrayList<SweptSegment>();
+        protected Point _crossingPoint;
+
+        Event(Point point) { _point = point; }
+    }
+
+    private static class Sweep
+    {
+        // Stand-in for the event point itself when searching the status
+        private static final SweptSegment PROBE = new SweptSegment(-1, null, Point.ORIGIN, Point.ORIGIN);
+
+        protected final TreeMap<Point, Event> _events;
+        protected final TreeSet<SweptSegment> _status;
+
+        // Current sweep position; _before orders segments through the event point as they
+        // were immediately to the left of it (used when deleting), otherwise immediately to the right.
+        protected Point _current;
+        protected boolean _before;
+
+        // Caller-owned storage for the intersection kernel; a Point is made only for a scheduled crossing
+        private final double[] _crossing = new double[2];
+
+        Sweep(List<Segment> segments)
+        {
+            _events = new TreeMap<Point, Event>(EVENT_ORDER);
+            _status = new TreeSet<SweptSegment>(this::compareAtSweep);
+
+            int id = 0;
+            for (Segment segment : segments)
+            {
+                Point p1 = segment.getPoint1();
+                Point p2 = segment.getPoint2();
+
+                int order = EVENT_ORDER.compare(p1, p2);
+                if (order == 0) continue;
+
+                Point left = order < 0 ? p1 : p2;
+                Point right = order < 0 ? p2 : p1;
+
+                SweptSegment swept = new SweptSegment(id++, segment, left, right);
+                eventAt(left)._starting.add(swept);
+                eventAt(right)._ending.add(swept);
+            }
+        }
+
+        private Event eventAt(Point pt)
+        {
+            return _events.computeIfAbsent(pt, Event::new);
+        }
+
+        List<Point> run()
+        {
+            List<Point> crossings = new ArrayList<Point>();
+
+            while (!_events.isEmpty())
+            {
+                Point crossing = handle(_events.pollFirstEntry().getValue());
+
+                if (crossing != null) crossings.add(crossing);
+            }
+
+            return crossings;
+        }
+
+        /*
+         * @return the crossing at this event; null if no two segments cross here
+         */
+        private Point handle(Event event)
+        {
+            _current = event._point;
+            Set<SweptSegment> dirty = new LinkedHashSet<SweptSegment>();
+
+            //
+            // Remove segments ending here or passing through here, in their order just left of the event;
+            // their former neighbours may now be adjacent to one another.
+            //
+            _before = true;
+            List<SweptSegment> through = segmentsThroughEvent();
+            for (SweptSegment swept : through) removeMarkingNeighbours(swept, dirty);
+            for (SweptSegment swept : event._ending) removeMarkingNeighbours(swept, dirty);
+
+            //
+            // (Re)insert segments starting here or continuing through here, in their order just right of the event.
+            //
+            _before = false;
+            Set<SweptSegment> inserting = new LinkedHashSet<SweptSegment>(event._starting);
+            inserting.addAll(through);
+            inserting.removeAll(event._ending);
+            for (SweptSegment swept : inserting)
+            {
+                _status.add(swept);
+                swept._inStatus = true;
+                dirty.add(swept);
+            }
+
+            //
+            // Only pairs that have just become adjacent can produce a new crossing.
+            //
+            for (SweptSegment swept : dirty)
+            {
+                if (swept == null || !swept._inStatus) continue;
+
+                check(swept, _status.lower(swept));
+                check(swept, _status.higher(swept));
+            }
+
+            if (event._crossingPoint != null) return event._crossingPoint;
+
+            through.removeAll(event._ending);
+            return crossingAmong(through);
+        }
+
+        /*
+         * @return the segments in the status that contain the event point (contiguous in the status)
+         */
+        private List<SweptSegment> segmentsThroughEvent()
+        {
+            List<SweptSegment> through = new ArrayList<SweptSegment>();
+
+            for (SweptSegment swept : _status.tailSet(PROBE))
+            {
+                if (!MathUtilities.doubleEquals(yAtSweep(swept), _current.getY())) break;
+
+                through.add(swept);
+            }
+
+            return through;
+        }
+
+        /*
+         * Segments through the same point either all lie on one line or some pair crosses there;
+         * comparing the first against the rest decides which.
+         */
+        private Point crossingAmong(List<SweptSegment> through)
+        {
+            for (int i = 1; i < through.size(); i++)
+            {
+                Point crossing = IntersectionDelegate.segmentIntersection(through.get(0)._segment, through.get(i)._segment);
+                if (crossing != null) return crossing;
+            }
+
+            return null;
+        }
+
+        private void removeMarkingNeighbours(SweptSegment swept, Set<SweptSegment> dirty)
+        {
+            if (!swept._inStatus) return;
+
+            dirty.add(_status.lower(swept));
+            dirty.add(_status.higher(swept));
+            remove(swept);
+        }
+
+        private void remove(SweptSegment swept)
+        {
+            // Guard against an ordering made inconsistent by floating-point drift
+            if (!_status.remove(swept)) _status.removeIf(s -> s == swept);
+
+            swept._inStatus = false;
+        }
+
+        /*
+         * Schedule the crossing of two adjacent segments if it lies beyond the sweep line.
+         */
+        private void check(SweptSegment s1, SweptSegment s2)
+        {
+            if (s2 == null) return;
+
+            if (!IntersectionDelegate.segmentIntersection(s1._segment, s2._segment, _crossing)) return;
+
+            if (compare(_crossing[0], _crossing[1], _current.getX(), _current.getY()) <= 0) return;
+
+            Point crossing = new Point(_crossing[0], _crossing[1]);
+
+            Event event = eventAt(crossing);
+            if (event._crossingPoint == null) event._crossingPoint = crossing;
+        }
+
+        /*
+         * Bottom-to-top order of segments along the sweep line; segments through the same
+         * point are ordered by slope as they are just before (or after) the sweep position.
+         */
+        private int compareAtSweep(SweptSegment s1, SweptSegment s2)
+        {
+            if (s1 == s2) return 0;
+
+            double y1 = s1 == PROBE ? _current.getY() : yAtSweep(s1);
+            double y2 = s2 == PROBE ? _current.getY() : yAtSweep(s2);
+            if (!MathUtilities.doubleEquals(y1, y2)) return y1 < y2 ? -1 : 1;
+
+            // The probe sits just below every segment through the event point
+            if (s1 == PROBE) return -1;
+            if (s2 == PROBE) return 1;
+
+            if (!sameSlope(s1, s2))
+            {
+                int bySlope = Double.compare(s1._slope, s2._slope);
+                return _before ? -bySlope : bySlope;
+            }
+
+            return Integer.compare(s1._id, s2._id);
+        }
+
+        private double yAtSweep(SweptSegment swept)
+        {
+            if (swept._vertical) return Math.min(Math.max(_current.getY(), swept._leftY), swept._rightY);
+
+            if (_current.getX() <= swept._leftX) return swept._leftY;
+            if (_current.getX() >= swept._rightX) return swept._rightY;
+
+            return swept._leftY + (_current.getX() - swept._leftX) * swept._slope;
+        }
+
+        private static boolean sameSlope(SweptSegment s1, SweptSegment s2)
+        {
+            if (s1._vertical || s2._vertical) return s1._vertical && s2._vertical;
+
+            return MathUtilities.doubleEquals(s1._slope, s2._slope);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package geometry_objects.points;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing multimap from int hashes to int ids (linear probing, no boxing).
+ * The caller decides what a hash means and checks each id it is handed; for example:
+ *
+ *    for (int slot = table.first(hash); slot != IdTable.END; slot = table.next(slot, hash))
+ *        ... table.id(slot) ...
+ */
+class IdTable
+{
+	public static final int END = -1;
+
+	// Slot contents: an empty slot, a slot vacated by a removal, otherwise id + 1
+	private static final int EMPTY = 0;
+	private static final int VACATED = -1;
+
+	private int[] _ids;
+	private int[] _hashes;
+
+	private int _size;
+	private int _occupied;
+
+	IdTable(int expected)
+	{
+		int slots = Integer.highestOneBit(Math.max(expected, 8) * 4 - 1);
+
+		_ids = new int[slots];
+		_hashes = new int[slots];
+	}
+
+	void add(int hash, int id)
+	{
+		if ((_occupied + 1) * 2 > _ids.length) resize(_ids.length * (_size * 4 > _ids.length ? 2 : 1));
+
+		int mask = _ids.length - 1;
+		int slot = spread(hash) & mask;
+		while (_ids[slot] > EMPTY) slot = (slot + 1) & mask;
+
+		if (_ids[slot] == EMPTY) _occupied++;
+		_ids[slot] = id + 1;
+		_hashes[slot] = hash;
+		_size++;
+	}
+
+	/**
+	 * @return true if the id was held under the hash (and now is not)
+	 */
+	boolean remove(int hash, int id)
+	{
+		for (int slot = first(hash); slot != END; slot = next(slot, hash))
+		{
+			if (_ids[slot] == id + 1)
+			{
+				_ids[slot] = VACATED;
+				_size--;
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	void clear()
+	{
+		Arrays.fill(_ids, EMPTY);
+		_size = 0;
+		_occupied = 0;
+	}
+
+	/**
+	 * @return the first slot holding an id under the hash; END if there is none
+	 */
+	int first(int hash) { return scan(spread(hash) & (_ids.length - 1), hash); }
+
+	/**
+	 * @return the slot after @slot holding an id under the hash; END if there is none
+	 */
+	int next(int slot, int hash) { return scan((slot + 1) & (_ids.length - 1), hash); }
+
+	int id(int slot) { return _ids[slot] - 1; }
+
+	private int scan(int slot, int hash)
+	{
+		int mask = _ids.length - 1;
+
+		for ( ; _ids[slot] != EMPTY; slot = (slot + 1) & mask)
+		{
+			if (_ids[slot] > EMPTY && _hashes[slot] == hash) return slot;
+		}
+
+		return END;
+	}
+
+	/*
+	 * Rebuilds the table (dropping vacated slots)
+	 */
+	private void resize(int slots)
+	{
+		int[] ids = _ids, hashes = _hashes;
+
+		_ids = new int[slots];
+		_hashes = new int[slots];
+		_size = 0;
+		_occupied = 0;
+
+		int mask = slots - 1;
+		for (int old = 0; old < ids.length; old++)
+		{
+			if (ids[old] <= EMPTY) continue;
+
+			int slot = spread(hashes[old]) & mask;
+			while (_ids[slot] != EMPTY) slot = (slot + 1) & mask;
+
+			_ids[slot] = ids[old];
+			_hashes[slot] = hashes[old];
+			_occupied++;
+			_size++;
+		}
+	}
+
+	// Mix the bits before masking (the finalizer of MurmurHash3)
+	private static int spread(int hash)
+	{
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		hash *= 0xC2B2AE35;
+		return hash ^ (hash >>> 16);
+	}
+}
@@ -57,10 +57,21 @@ public class Point implements Comparable<Point>
 		return _name == ANONYMOUS;
 	}
 
+	/*
+	 * The coordinates (within epsilon precision) are mixed: integral coordinates have no low
+	 * bits, and segments and triangles sum the hashes of their points
+	 */
 	@Override
 	public int hashCode() {
-		return Double.valueOf(MathUtilities.removeLessEpsilon(_x)).hashCode() +
-			   Double.valueOf(MathUtilities.removeLessEpsilon(_y)).hashCode();
+		long bits = Double.doubleToLongBits(MathUtilities.removeLessEpsilon(_x)) * 31 +
+				    Double.doubleToLongBits(MathUtilities.removeLessEpsilon(_y));
+
+		// the finalizer of MurmurHash3
+		bits ^= bits >>> 33;
+		bits *= 0xFF51AFD7ED558CCDL;
+		bits ^= bits >>> 33;
+		bits *= 0xC4CEB9FE1A85EC53L;
+		return (int)(bits ^ (bits >>> 33));
 	}
 
 	/**
@@ -109,10 +120,10 @@ public class Point implements Comparable<Point>
 	 **/
 	@Override
 	public boolean equals(Object obj) {
-		if(!(obj instanceof Point)) return false;
-
 		if(this == obj) return true;
 
+		if(!(obj instanceof Point)) return false;
+
 		Point point = (Point) obj;
 		return MathUtilities.doubleEquals(this.getX(), point.getX())&&
 				MathUtilities.doubleEquals(this.getY(), point.getY());
@@ -1,5 +1,6 @@
 package geometry_objects.points;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -26,6 +27,11 @@ public class PointDatabase {
 
 	public int size() { return _factory.size(); }
 
+	/**
+	 * @return the primitive (id-indexed) store of the points; see PointStore
+	 */
+	public PointStore getStore() { return _factory.getStore(); }
+
 	/**
 	 * Adds a point to the database.
 	 * @param name
@@ -41,6 +47,26 @@ public class PointDatabase {
 	 **/
 	public void put(Point n) { _factory.put(n); }
 
+	/**
+	 * Adds points to the database (sizing it once for all of them).
+	 * @param points
+	 * @return void
+	 **/
+	public void putAll(Collection<Point> points) { _factory.putAll(points); }
+
+	/**
+	 * Removes a point from the database.
+	 * @param pt
+	 * @return true if the point was in the database
+	 **/
+	public boolean remove(Point pt) { return _factory.remove(pt); }
+
+	/**
+	 * @param pt
+	 * @return true if the database holds pt under a generated (implicit point) name
+	 **/
+	public boolean isGenerated(Point pt) { return _factory.isGenerated(pt); }
+
 
 	/**
 	 * Determines if a point is named based off of a specified pair of coordinates.
@@ -62,11 +88,9 @@ public class PointDatabase {
 	 * @return a string corresponding to the point.
 	 **/
 	public String getName(Point pt) {
-		Set<Point> points = _factory.getAllPoints();
-		for (Point point : points) {
-			if (point.equals(pt)) { return point.getName(); }
-		}
-		return null;
+		PointStore store = _factory.getStore();
+		int id = store.find(pt.getX(), pt.getY());
+		return id == PointStore.NONE ? null : store.name(id);
 	}
 
 	/**
@@ -75,10 +99,9 @@ public class PointDatabase {
 	 * @return a Point object containing (x,y) corresponding to name, if it has been defined.
 	 **/
 	public Point getPoint(String name) {
-		for (Point point : _factory.getAllPoints()) {
-			if (point.getName().equals(name)) { return point; }
-		}
-		return null;
+		PointStore store = _factory.getStore();
+		int id = store.findName(name);
+		return id == PointStore.NONE ? null : store.point(id);
 	}
 	
 	/**
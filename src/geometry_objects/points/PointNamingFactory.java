@@ -1,13 +1,12 @@
 package geometry_objects.points;
-import java.util.LinkedHashMap;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import input.components.exception.NotInDatabaseException;
 /**
  * Stores Point classes and gives them a name from A > Z every time the Point lacks a name.
- * Once Z is past it will return the beginning, but add another letter(AA, AAA, AAAA).
+ * Once Z is past it continues with two letters (AA, AB, ..., ZZ), then three (AAA), and so on.
  * @author Jackson Tedesco, Case Riddle, Della Avent
  * @data 3/24/2024
  */
@@ -16,7 +15,9 @@ import input.components.exception.NotInDatabaseException;
  * Given a pair of coordinates; generate a unique name for it;
  * return that point object.
  *
- * Names go from A..Z..AA..ZZ..AAA...ZZZ  (a name such as ABA does not occur)
+ * Names go from A..Z, AA..AZ, BA..ZZ, AAA..ZZZ, ...: the generated names are the
+ * bijective base-26 numerals 1, 2, 3, ... (digits A..Z), so the n-th name has about
+ * log26(n) letters.
  * 
  */
 public class PointNamingFactory
@@ -28,25 +29,18 @@ public class PointNamingFactory
 	private static final char START_LETTER = 'A';
 	private static final char END_LETTER = 'Z';
 
-	//
-	// the number of characters in the generated names:
-	// "A" and 1 -> "A"
-	// "B" and 3 -> "BBB"
-	//
-	private String _currentName = "A";
-	private int _numLetters = 1;
+	// The number of names generated so far
+	private long _generated = 0;
 
 	//
-	// A hashed container for the database of points; this requires the Point
-	// class implement equals based solely on the individual coordinates and
-	// not a name. We need a get() method; HashSet doesn't offer one.
-	// Each entry is a <Key, Value> pair where Key == Value
+	// The database of points: coordinates and names in parallel arrays (by id),
+	// hashed on the coordinates (Point equality). Point objects are views of the ids.
 	//
-	protected Map<Point, Point> _database;
+	protected PointStore _database;
 
 	public PointNamingFactory()
 	{
-		_database = new LinkedHashMap<>();
+		_database = new PointStore();
 	}
 
 	/**
@@ -56,10 +50,8 @@ public class PointNamingFactory
 	 */
 	public PointNamingFactory(List<Point> points)
 	{
-		this();
-		for(Point _point: points) {
-			put(_point);
-		}
+		_database = new PointStore(points.size());
+		putAll(points);
 	}
 
 	/**
@@ -75,12 +67,13 @@ public class PointNamingFactory
 	{
 		if(pt == null) throw new NullPointerException();
 		
-		if(_database.containsKey(pt)) {
-			if(isGeneratedName(_database.get(pt).getName())) {
-				_database.remove(pt);
+		int id = _database.find(pt.getX(), pt.getY());
+		if(id != PointStore.NONE) {
+			if(isGeneratedName(_database.name(id))) {
+				_database.remove(id);
 			}
 			else {
-				return _database.get(pt);
+				return _database.point(id);
 			}
 		}
 		
@@ -89,16 +82,28 @@ public class PointNamingFactory
 		}
 		
 		//checks for repeat names
-		for(Point _point: _database.keySet()) {
-			if(_point.getName().equals(pt.getName())) {
-				pt._name = getCurrentName();
-			}
+		while(_database.findName(pt.getName()) != PointStore.NONE) {
+			pt._name = getCurrentName();
 		}
 
-		_database.put(pt, pt);
+		_database.add(pt);
 		return pt;
 	}
 
+	/**
+	 * Bulk put(): the database is sized once for all of the points.
+	 *
+	 * @param points -- points, named or not named
+	 */
+	public void putAll(Collection<Point> points)
+	{
+		_database.ensureCapacity(_database.idLimit() + points.size());
+
+		for(Point pt: points) {
+			put(pt);
+		}
+	}
+
 	/**
 	 * Overloaded add / lookup mechanism for this database for an unnamed coordinate pair.
 	 *
@@ -137,6 +142,16 @@ public class PointNamingFactory
 		return put(new Point(name, x, y));
 	}
 	
+	/**
+	 * @param pt: point tested
+	 * @return True if the database entry for pt carries a generated name; False if not (or not in the database)
+	 */
+	public boolean isGenerated(Point pt) {
+		int id = _database.find(pt.getX(), pt.getY());
+		
+		return id != PointStore.NONE && isGeneratedName(_database.name(id));
+	}
+
 	/**
 	 * Determines if a name is a generated name
 	 * @param name: name tested
@@ -160,7 +175,11 @@ public class PointNamingFactory
 	 */
 	public Point get(double x, double y) throws NotInDatabaseException
 	{
-		return get(new Point(x, y));
+		int id = _database.find(x, y);
+
+		if(id != PointStore.NONE) return _database.point(id);
+
+		throw new NotInDatabaseException();
 	}	
 
 	/**
@@ -172,9 +191,7 @@ public class PointNamingFactory
 	{
 		if(pt == null) throw new NullPointerException();
 		
-		if(contains(pt)) return _database.get(pt);
-
-		throw new NotInDatabaseException(); 
+		return get(pt.getX(), pt.getY());
 	}
 
 	/**
@@ -182,48 +199,42 @@ public class PointNamingFactory
 	 * @param y -- single coordinate
 	 * @return simple containment; no updating
 	 */
-	public boolean contains(double x, double y) { return contains(new Point(x, y)); }
+	public boolean contains(double x, double y) { return _database.find(x, y) != PointStore.NONE; }
 	
 	/**
 	 * @param p: Point being tested
 	 * @return True if PointNamingFactory contains p; False if not
 	 */
-	public boolean contains(Point p) { return _database.containsKey(p); }
+	public boolean contains(Point p) { return p != null && contains(p.getX(), p.getY()); }
 
 	/**
 	 * Constructs the next (complete with prefix) generated name.
 	 * Names should be of the form PREFIX + current name
 	 *
-	 * This method should also invoke updating of the current name
-	 * to reflect the 'next' name in the sequence.
-	 *	 
 	 * @return the next complete name in the sequence including prefix.
 	 */
 	private String getCurrentName()
 	{
-		String tmpName = _PREFIX + _currentName.repeat(_numLetters);
-		updateName();
-		
-		return tmpName;
+		_generated++;
+		return _PREFIX + generatedName(_generated);
 	}
 
 	/**
-	 * Advances the current generated name to the next letter in the alphabet:
-	 * 'A' -> 'B' -> 'C' -> 'Z' --> 'AA' -> 'BB'
+	 * The bijective base-26 numeral for n (digits A..Z):
+	 * 1 -> "A", 26 -> "Z", 27 -> "AA", 52 -> "AZ", 53 -> "BA", 703 -> "AAA"
+	 *
+	 * @param n -- a positive number
 	 */
-	private void updateName()
+	static String generatedName(long n)
 	{
-		if(_currentName.equals("" + END_LETTER)) {
-			
-			_currentName = "" + START_LETTER;
-			_numLetters++;
-			
-		}else {
-			char charName = _currentName.charAt(0);
-
-			charName++;
-			_currentName = "" + charName;
+		final int base = END_LETTER - START_LETTER + 1;
+
+		StringBuilder name = new StringBuilder();
+		for( ; n > 0; n = (n - 1) / base) {
+			name.append((char)(START_LETTER + (n - 1) % base));
 		}
+
+		return name.reverse().toString();
 	}
 
 	/**
@@ -231,9 +242,21 @@ public class PointNamingFactory
 	 */
 	public  Set<Point> getAllPoints()
 	{
-		return _database.keySet();
+		return _database.asPoints();
 	}
 
+	/**
+	 * @return the primitive store behind this database (for scans by id)
+	 */
+	public PointStore getStore() { return _database; }
+
+	/**
+	 * removes a point from the PointNamingFactory
+	 * @param pt: point to be removed
+	 * @return True if the point was in the PointNamingFactory; False if not
+	 */
+	public boolean remove(Point pt) { return pt != null && _database.remove(_database.find(pt.getX(), pt.getY())); }
+
 	/**
 	 * clears the PointNamingFactory
 	 */
@@ -252,7 +275,7 @@ public class PointNamingFactory
 	{
 		StringBuilder sb = new StringBuilder();
 
-		for(Point pt: _database.keySet()) {
+		for(Point pt: _database.asPoints()) {
 			sb.append(pt.getName() + "(" + pt.getX() + ", " + pt.getY() + ")\n");
 		}
 
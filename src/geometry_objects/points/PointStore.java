@@ -0,0 +1,302 @@
+package geometry_objects.points;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import utilities.math.MathUtilities;
+
+/**
+ * A primitive (struct-of-arrays) store of points: the coordinates and name of each point
+ * are kept in parallel arrays indexed by a dense int id.
+ *
+ * Ids are issued in insertion order and never reused; removing a point leaves a hole
+ * (see isLive). Geometry code may scan the coordinate arrays directly:
+ *
+ *    double[] xs = store.xs(), ys = store.ys();
+ *    for (int id = 0; id < store.idLimit(); id++)
+ *        if (store.isLive(id)) ... xs[id], ys[id] ...
+ *
+ * Lookup by coordinates agrees with Point.equals (each coordinate within EPSILON): the plane
+ * is snapped to a grid of square cells (side CELL, much larger than EPSILON), each id is hashed
+ * on its cell, and a lookup probes the cell of the query plus any neighbouring cell that lies
+ * within EPSILON of it. Most lookups probe a single cell. (A map keyed on Point cannot do this:
+ * Point.hashCode truncates, so equal points on either side of a truncation boundary hash apart.)
+ *
+ * Names (other than Point.ANONYMOUS) are indexed too; see findName.
+ *
+ * Point objects are a view: one is created for an id only when asked for (point(id)),
+ * unless the point was added as an object (add(Point)), in which case that object is the view.
+ */
+public class PointStore
+{
+	public static final int NONE = -1;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	// Side of a grid cell, and how near a cell boundary a query must be to probe across it
+	// (EPSILON, with room for the rounding of the cell arithmetic)
+	private static final double CELL = 1024 * MathUtilities.EPSILON;
+	private static final double REACH = 2 * MathUtilities.EPSILON;
+	private static final double PER_CELL = 1 / CELL;
+
+	protected double[] _xs;
+	protected double[] _ys;
+	protected String[] _names;
+	protected Point[] _views;
+
+	// Ids issued so far, and the number of those that are live
+	protected int _idLimit;
+	protected int _size;
+
+	// ids by grid cell and by name
+	protected IdTable _cells;
+	protected IdTable _named;
+
+	public PointStore() { this(INITIAL_CAPACITY); }
+
+	/**
+	 * @param expected -- the number of points expected (the store grows as needed)
+	 */
+	public PointStore(int expected)
+	{
+		int capacity = Math.max(expected, INITIAL_CAPACITY);
+
+		_xs = new double[capacity];
+		_ys = new double[capacity];
+		_names = new String[capacity];
+		_views = new Point[capacity];
+
+		_cells = new IdTable(capacity);
+		_named = new IdTable(capacity);
+	}
+
+	/**
+	 * @return the number of (live) points
+	 */
+	public int size() { return _size; }
+
+	/**
+	 * @return one more than the largest id issued; ids range over [0, idLimit())
+	 */
+	public int idLimit() { return _idLimit; }
+
+	/**
+	 * @return true if the id refers to a point that has not been removed
+	 */
+	public boolean isLive(int id) { return id >= 0 && id < _idLimit && _names[id] != null; }
+
+	public double x(int id) { return _xs[id]; }
+	public double y(int id) { return _ys[id]; }
+	public String name(int id) { return _names[id]; }
+
+	/**
+	 * The backing coordinate arrays (valid for ids below idLimit(); check isLive).
+	 * They are replaced when the store grows: do not hold on to them across an add.
+	 */
+	public double[] xs() { return _xs; }
+	public double[] ys() { return _ys; }
+
+	/**
+	 * Makes room for @expected points in all (without growing along the way)
+	 */
+	public void ensureCapacity(int expected)
+	{
+		if (expected > _xs.length) resize(expected);
+	}
+
+	/**
+	 * Adds a point without checking for an existing point at the same coordinates (or name).
+	 * @return the id of the new point
+	 */
+	public int add(String name, double x, double y)
+	{
+		if (_idLimit == _xs.length) resize(_xs.length * 2);
+
+		int id = _idLimit++;
+		_xs[id] = x;
+		_ys[id] = y;
+		_names[id] = name == null ? Point.ANONYMOUS : name;
+		_size++;
+
+		_cells.add(hash(cell(x), cell(y)), id);
+		if (_names[id] != Point.ANONYMOUS) _named.add(_names[id].hashCode(), id);
+
+		return id;
+	}
+
+	/**
+	 * Adds a point object (which becomes the view of its id); see add(String, double, double).
+	 */
+	public int add(Point pt)
+	{
+		int id = add(pt.getName(), pt.getX(), pt.getY());
+		_views[id] = pt;
+		return id;
+	}
+
+	/**
+	 * @return the id of the point equal (Point.equals) to (x, y); NONE if there is none.
+	 *         Should several stored points be equal to (x, y), the first added.
+	 */
+	public int find(double x, double y)
+	{
+		long column = cell(x), row = cell(y);
+
+		// neighbouring columns (rows) to probe: -1, 0 or 1
+		int dx = x - column * CELL < REACH ? -1 : ((column + 1) * CELL - x < REACH ? 1 : 0);
+		int dy = y - row * CELL < REACH ? -1 : ((row + 1) * CELL - y < REACH ? 1 : 0);
+
+		int found = findInCell(column, row, x, y, NONE);
+		if (dx != 0) found = findInCell(column + dx, row, x, y, found);
+		if (dy != 0) found = findInCell(column, row + dy, x, y, found);
+		if (dx != 0 && dy != 0) found = findInCell(column + dx, row + dy, x, y, found);
+
+		return found;
+	}
+
+	/*
+	 * @return the smaller of found and the ids hashed on the given cell that are equal to (x, y)
+	 */
+	private int findInCell(long column, long row, double x, double y, int found)
+	{
+		int hash = hash(column, row);
+
+		for (int slot = _cells.first(hash); slot != IdTable.END; slot = _cells.next(slot, hash))
+		{
+			int id = _cells.id(slot);
+
+			if ((found == NONE || id < found) &&
+				MathUtilities.doubleEquals(_xs[id], x) && MathUtilities.doubleEquals(_ys[id], y)) found = id;
+		}
+
+		return found;
+	}
+
+	/**
+	 * @return the id of the point with the given name; NONE if there is none
+	 *         (should several points share the name, the first added)
+	 */
+	public int findName(String name)
+	{
+		if (name == null || name == Point.ANONYMOUS) return NONE;
+
+		int hash = name.hashCode();
+		int found = NONE;
+
+		for (int slot = _named.first(hash); slot != IdTable.END; slot = _named.next(slot, hash))
+		{
+			int id = _named.id(slot);
+
+			if ((found == NONE || id < found) && name.equals(_names[id])) found = id;
+		}
+
+		return found;
+	}
+
+	/**
+	 * @return true if the id was live (and now is not)
+	 */
+	public boolean remove(int id)
+	{
+		if (!isLive(id)) return false;
+
+		_cells.remove(hash(cell(_xs[id]), cell(_ys[id])), id);
+		if (_names[id] != Point.ANONYMOUS) _named.remove(_names[id].hashCode(), id);
+
+		_names[id] = null;
+		_views[id] = null;
+		_size--;
+
+		return true;
+	}
+
+	public void clear()
+	{
+		Arrays.fill(_names, 0, _idLimit, null);
+		Arrays.fill(_views, 0, _idLimit, null);
+		_cells.clear();
+		_named.clear();
+
+		_idLimit = 0;
+		_size = 0;
+	}
+
+	/**
+	 * @return the Point view of a live id (created on first request)
+	 */
+	public Point point(int id)
+	{
+		if (_views[id] == null) _views[id] = new Point(_names[id], _xs[id], _ys[id]);
+
+		return _views[id];
+	}
+
+	/**
+	 * @return a read-only Set view of the points in id (insertion) order
+	 */
+	public AbstractSet<Point> asPoints()
+	{
+		return new AbstractSet<Point>()
+		{
+			@Override
+			public Iterator<Point> iterator()
+			{
+				return new Iterator<Point>()
+				{
+					private int _next = advance(0);
+
+					private int advance(int id)
+					{
+						while (id < _idLimit && _names[id] == null) id++;
+						return id;
+					}
+
+					@Override
+					public boolean hasNext() { return _next < _idLimit; }
+
+					@Override
+					public Point next()
+					{
+						if (!hasNext()) throw new NoSuchElementException();
+
+						Point pt = point(_next);
+						_next = advance(_next + 1);
+						return pt;
+					}
+				};
+			}
+
+			@Override
+			public boolean contains(Object obj)
+			{
+				if (!(obj instanceof Point)) return false;
+
+				Point pt = (Point) obj;
+				return find(pt.getX(), pt.getY()) != NONE;
+			}
+
+			@Override
+			public int size() { return _size; }
+		};
+	}
+
+	private void resize(int capacity)
+	{
+		_xs = Arrays.copyOf(_xs, capacity);
+		_ys = Arrays.copyOf(_ys, capacity);
+		_names = Arrays.copyOf(_names, capacity);
+		_views = Arrays.copyOf(_views, capacity);
+	}
+
+	private static long cell(double coordinate)
+	{
+		return (long) Math.floor(coordinate * PER_CELL);
+	}
+
+	private static int hash(long column, long row)
+	{
+		return Long.hashCode(column * 31 + row);
+	}
+}
@@ -130,7 +130,7 @@ public class JSONParser
 	private void getSegment(JSONObject segmentList, SegmentNodeDatabase SNDatabase, PointNodeDatabase points) 
 			throws NullPointerException, JSONException, NotInDatabaseException {
 		
-		String headNode = segmentList.toString().substring(2, 3);
+		String headNode = segmentList.keys().next();
 		JSONArray segmentPoints = segmentList.getJSONArray(headNode);
 
 		for(int i = 0; i < segmentPoints.length(); i++) {
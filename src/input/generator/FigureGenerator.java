@@ -0,0 +1,396 @@
+package input.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import components.FigureNode;
+import input.InputFacade;
+import input.components.point.PointNode;
+import input.components.point.PointNodeDatabase;
+import input.components.segment.SegmentNode;
+import input.components.segment.SegmentNodeDatabase;
+
+/**
+ * Generates synthetic figures (of any size) for benchmarks and stress tests:
+ *
+ *    grids                n x n lattice points joined to their neighbours
+ *    complete graphs      k points (in convex position) joined pairwise
+ *    random soups         random segments; density controls how often they cross
+ *    fans                 lines through one vertex, each split into collinear pieces
+ *    tiled fixtures       copies of an existing figure laid out in rows and columns
+ *
+ * Coordinates are integers (as JSONParser reads them) and all randomness comes from the
+ * seed, so a figure (and its JSON) is reproducible from its parameters.
+ *
+ * Generated points are named P0, P1, ...; tiled copies keep their names with a _row_col suffix.
+ */
+public class FigureGenerator
+{
+	// The side of the square in which random soups are drawn
+	public static final int SOUP_EXTENT = 1000;
+
+	protected long _seed;
+
+	public FigureGenerator(long seed)
+	{
+		_seed = seed;
+	}
+
+	/**
+	 * @param n -- points per side
+	 * @return an n x n lattice; each point joined to its horizontal and vertical neighbours
+	 */
+	public FigureNode grid(int n)
+	{
+		Figure figure = new Figure();
+
+		for (int x = 0; x < n; x++)
+		{
+			for (int y = 0; y < n; y++)
+			{
+				if (x + 1 < n) figure.segment(x, y, x + 1, y);
+				if (y + 1 < n) figure.segment(x, y, x, y + 1);
+			}
+		}
+
+		// a single point has no segments
+		if (n == 1) figure.point(0, 0);
+
+		return figure.build(n + "x" + n + " grid.");
+	}
+
+	/**
+	 * @param k -- number of points
+	 * @return k points on a circle (rounded to integers), every pair joined by a segment
+	 */
+	public FigureNode completeGraph(int k)
+	{
+		Figure figure = new Figure();
+
+		// large enough that the rounded points stay distinct and in convex position
+		double radius = 10.0 * k * k;
+
+		List<PointNode> points = new ArrayList<PointNode>();
+		for (int index = 0; index < k; index++)
+		{
+			double angle = 2 * Math.PI * index / k;
+			points.add(figure.point((int)Math.round(radius * Math.cos(angle)), (int)Math.round(radius * Math.sin(angle))));
+		}
+
+		for (int i = 0; i < k; i++)
+		{
+			for (int j = i + 1; j < k; j++)
+			{
+				figure.segment(points.get(i), points.get(j));
+			}
+		}
+
+		return figure.build("Complete graph on " + k + " points.");
+	}
+
+	/**
+	 * Segments have length density * SOUP_EXTENT and random position and direction; two such
+	 * segments cross with probability roughly proportional to density^2, so a soup of n segments
+	 * has on the order of n^2 * density^2 crossings.
+	 *
+	 * @param segments -- number of segments
+	 * @param density -- segment length relative to the extent of the soup, in (0, 1]
+	 * @return a random segment soup
+	 */
+	public FigureNode randomSoup(int segments, double density)
+	{
+		if (!(density > 0 && density <= 1)) throw new IllegalArgumentException("density must be in (0, 1]: " + density);
+
+		Random random = new Random(_seed);
+		Figure figure = new Figure();
+		double length = Math.max(1, density * SOUP_EXTENT);
+
+		while (figure.segmentCount() < segments)
+		{
+			int x1 = random.nextInt(SOUP_EXTENT + 1);
+			int y1 = random.nextInt(SOUP_EXTENT + 1);
+			double angle = 2 * Math.PI * random.nextDouble();
+			int x2 = (int)Math.round(x1 + length * Math.cos(angle));
+			int y2 = (int)Math.round(y1 + length * Math.sin(angle));
+
+			if (x1 != x2 || y1 != y2) figure.segment(x1, y1, x2, y2);
+		}
+
+		return figure.build("Random soup of " + segments + " segments (density " + density + ", seed " + _seed + ").");
+	}
+
+	/**
+	 * Lines through a common vertex; each half-line (ray) holds pointsPerRay points
+	 * beyond the vertex, consecutive points joined:
+	 *
+	 *       \   |   /
+	 *        *  *  *
+	 *         \ | /
+	 *      *-*--V--*-*
+	 *         / | \
+	 *
+	 * @param lines -- number of lines through the vertex (2 * lines rays)
+	 * @param pointsPerRay -- points on each ray (excluding the vertex)
+	 * @return a fan of collinear rays
+	 */
+	public FigureNode fan(int lines, int pointsPerRay)
+	{
+		Figure figure = new Figure();
+		PointNode vertex = figure.point(0, 0);
+
+		for (int[] direction : directions(lines))
+		{
+			for (int sign : new int[] { 1, -1 })
+			{
+				PointNode previous = vertex;
+				for (int step = 1; step <= pointsPerRay; step++)
+				{
+					PointNode next = figure.point(sign * step * direction[0], sign * step * direction[1]);
+					figure.segment(previous, next);
+					previous = next;
+				}
+			}
+		}
+
+		return figure.build("Fan of " + lines + " lines through one vertex, " + pointsPerRay + " points per ray.");
+	}
+
+	/**
+	 * @param fixture -- a figure (e.g., InputFacade.extractFigure("star.json"))
+	 * @param rows -- copies vertically
+	 * @param columns -- copies horizontally
+	 * @return disjoint translated copies of the fixture
+	 */
+	public FigureNode tiled(FigureNode fixture, int rows, int columns)
+	{
+		Set<PointNode> points = fixture.getPointsDatabase().getPoints();
+
+		double minX = points.stream().mapToDouble(PointNode::getX).min().orElse(0);
+		double maxX = points.stream().mapToDouble(PointNode::getX).max().orElse(0);
+		double minY = points.stream().mapToDouble(PointNode::getY).min().orElse(0);
+		double maxY = points.stream().mapToDouble(PointNode::getY).max().orElse(0);
+
+		// copies are separated by half their size (at least 1) so none touch
+		int width = (int)Math.ceil(maxX - minX);
+		int height = (int)Math.ceil(maxY - minY);
+		int offsetX = width + Math.max(1, width / 2);
+		int offsetY = height + Math.max(1, height / 2);
+
+		Figure figure = new Figure();
+
+		for (int row = 0; row < rows; row++)
+		{
+			for (int column = 0; column < columns; column++)
+			{
+				String suffix = "_" + row + "_" + column;
+				int dx = column * offsetX;
+				int dy = row * offsetY;
+
+				for (PointNode point : points)
+				{
+					figure.point(point.getName() + suffix, (int)point.getX() + dx, (int)point.getY() + dy);
+				}
+
+				for (SegmentNode segment : fixture.getSegments().asSegmentList())
+				{
+					figure.segment(figure.named(segment.getPoint1().getName() + suffix),
+							       figure.named(segment.getPoint2().getName() + suffix));
+				}
+			}
+		}
+
+		return figure.build(rows + "x" + columns + " tiling of: " + fixture.getDescription());
+	}
+
+	/**
+	 * @return the figure in the Figure / Points / Segments JSON form read by JSONParser
+	 */
+	public static String toJSON(FigureNode figure)
+	{
+		StringBuilder sb = new StringBuilder();
+
+		sb.append("{\n");
+		sb.append("  \"Figure\" :\n");
+		sb.append("  {\n");
+		sb.append("    \"Description\" : \"").append(figure.getDescription().replace("\"", "'")).append("\",\n");
+		sb.append("    \"Points\" :\n");
+		sb.append("      [\n");
+
+		List<String> lines = new ArrayList<String>();
+		for (PointNode point : figure.getPointsDatabase().getPoints())
+		{
+			lines.add(String.format("        { \"name\" : \"%s\", \"x\" : %d, \"y\" : %d }",
+					                point.getName(), (long)point.getX(), (long)point.getY()));
+		}
+		sb.append(String.join(",\n", lines)).append("\n");
+
+		sb.append("      ],\n");
+		sb.append("    \"Segments\" :\n");
+		sb.append("      [\n");
+
+		// each undirected segment is listed once, under the first of its points to appear
+		Map<String, List<String>> adjacency = new LinkedHashMap<String, List<String>>();
+		Set<String> listed = new HashSet<String>();
+		for (SegmentNode segment : figure.getSegments().asSegmentList())
+		{
+			String from = segment.getPoint1().getName();
+			String to = segment.getPoint2().getName();
+
+			if (listed.contains(to + " " + from)) continue;
+
+			listed.add(from + " " + to);
+			adjacency.computeIfAbsent(from, name -> new ArrayList<String>()).add("\"" + to + "\"");
+		}
+
+		lines.clear();
+		for (Map.Entry<String, List<String>> entry : adjacency.entrySet())
+		{
+			lines.add("        { \"" + entry.getKey() + "\" : [" + String.join(", ", entry.getValue()) + "] }");
+		}
+		sb.append(String.join(",\n", lines)).append("\n");
+
+		sb.append("      ]\n");
+		sb.append("  }\n");
+		sb.append("}\n");
+
+		return sb.toString();
+	}
+
+	/**
+	 * @param figure -- a figure
+	 * @param file -- destination of the figure's JSON
+	 */
+	public static void write(FigureNode figure, Path file) throws IOException
+	{
+		if (file.getParent() != null) Files.createDirectories(file.getParent());
+
+		Files.writeString(file, toJSON(figure));
+	}
+
+	/**
+	 * @return the corpus of generated fixtures (file name to figure)
+	 */
+	public Map<String, FigureNode> corpus()
+	{
+		Map<String, FigureNode> corpus = new LinkedHashMap<String, FigureNode>();
+
+		corpus.put("grid_8.json", grid(8));
+		corpus.put("grid_32.json", grid(32));
+		corpus.put("complete_12.json", completeGraph(12));
+		corpus.put("complete_24.json", completeGraph(24));
+		corpus.put("soup_200_sparse.json", randomSoup(200, 0.05));
+		corpus.put("soup_200_dense.json", randomSoup(200, 0.3));
+		corpus.put("soup_1000.json", randomSoup(1000, 0.05));
+		corpus.put("fan_12x6.json", fan(12, 6));
+		corpus.put("tiled_star_4x4.json", tiled(InputFacade.extractFigure("star.json"), 4, 4));
+		corpus.put("tiled_crossing_symmetric_triangle_6x6.json",
+				   tiled(InputFacade.extractFigure("crossing_symmetric_triangle.json"), 6, 6));
+
+		return corpus;
+	}
+
+	/**
+	 * Writes the corpus:  FigureGenerator [directory (default: generated)] [seed (default: 1)]
+	 */
+	public static void main(String[] args) throws IOException
+	{
+		Path directory = Path.of(args.length > 0 ? args[0] : "generated");
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 1;
+
+		for (Map.Entry<String, FigureNode> entry : new FigureGenerator(seed).corpus().entrySet())
+		{
+			write(entry.getValue(), directory.resolve(entry.getKey()));
+		}
+	}
+
+	/*
+	 * Accumulates the points (one per coordinate pair) and segments of a figure.
+	 */
+	private static class Figure
+	{
+		protected Map<String, PointNode> _byCoordinates = new LinkedHashMap<String, PointNode>();
+		protected Map<String, PointNode> _byName = new LinkedHashMap<String, PointNode>();
+		protected SegmentNodeDatabase _segments = new SegmentNodeDatabase();
+		protected Set<String> _segmentKeys = new HashSet<String>();
+
+		PointNode point(int x, int y)
+		{
+			PointNode existing = _byCoordinates.get(x + "," + y);
+
+			return existing != null ? existing : point("P" + _byCoordinates.size(), x, y);
+		}
+
+		PointNode point(String name, int x, int y)
+		{
+			PointNode existing = _byCoordinates.get(x + "," + y);
+			if (existing != null) return existing;
+
+			PointNode point = new PointNode(name, x, y);
+			_byCoordinates.put(x + "," + y, point);
+			_byName.put(name, point);
+
+			return point;
+		}
+
+		PointNode named(String name) { return _byName.get(name); }
+
+		void segment(int x1, int y1, int x2, int y2) { segment(point(x1, y1), point(x2, y2)); }
+
+		void segment(PointNode from, PointNode to)
+		{
+			if (from == null || to == null || from == to) return;
+
+			String key = from.getName().compareTo(to.getName()) < 0 ? from.getName() + " " + to.getName()
+					                                                : to.getName() + " " + from.getName();
+			if (_segmentKeys.add(key)) _segments.addUndirectedEdge(from, to);
+		}
+
+		int segmentCount() { return _segmentKeys.size(); }
+
+		FigureNode build(String description)
+		{
+			return new FigureNode(description, new PointNodeDatabase(new ArrayList<PointNode>(_byCoordinates.values())), _segments);
+		}
+	}
+
+	/*
+	 * @return count distinct primitive integer directions (upper half-plane), ordered by angle
+	 */
+	private static List<int[]> directions(int count)
+	{
+		List<int[]> directions = new ArrayList<int[]>();
+
+		for (int size = 1; directions.size() < count; size++)
+		{
+			directions.clear();
+
+			for (int x = -size; x <= size; x++)
+			{
+				for (int y = 0; y <= size; y++)
+				{
+					if ((y > 0 || x > 0) && gcd(Math.abs(x), y) == 1) directions.add(new int[] { x, y });
+				}
+			}
+		}
+
+		directions.sort((d1, d2) -> Double.compare(Math.atan2(d1[1], d1[0]), Math.atan2(d2[1], d2[0])));
+
+		// spread the chosen directions around the half-plane
+		List<int[]> chosen = new ArrayList<int[]>();
+		for (int index = 0; index < count; index++)
+		{
+			chosen.add(directions.get(index * directions.size() / count));
+		}
+		return chosen;
+	}
+
+	private static int gcd(int a, int b) { return b == 0 ? a : gcd(b, a % b); }
+}
@@ -7,6 +7,9 @@ import exceptions.FactException;
 import geometry_objects.Segment;
 import geometry_objects.angle.Angle;
 import geometry_objects.angle.AngleEquivalenceClasses;
+import preprocessor.delegates.AngleClassBuilder;
+import preprocessor.delegates.VertexRays;
+import utilities.metrics.StageMetrics;
 
 /**
  * class that finds angles with a given set of segments
@@ -20,32 +23,61 @@ public class AngleIdentifier
 	protected AngleEquivalenceClasses _angles;
 	protected Map<Segment, Segment> _segments; // The set of ALL segments for this figure
 
+	protected StageMetrics _metrics;
+	public StageMetrics getMetrics() { return _metrics; }
+
 	public AngleIdentifier(Map<Segment, Segment> segments)
 	{
 		_segments = segments;
+		_metrics = new StageMetrics();
 	}
 
 	/*
-	 * Compute the figure triangles on the fly when requested; 
+	 * Compute the figure angles on the fly when requested: one class per pair of
+	 * rays at a vertex (see AngleClassBuilder);
 	 * memorize results for subsequent calls.
 	 */
 	public AngleEquivalenceClasses getAngles()
 	{
 		if (_angles != null) return _angles;
 
-		_angles = new AngleEquivalenceClasses();
-
-		computeAngles();
+		StageMetrics.Timer timer = _metrics.start("angles", _segments.size());
+		_angles = AngleClassBuilder.build(new VertexRays(_segments.keySet()));
+		timer.stop(_angles.size());
 
 		return _angles;
 	}
 
 	/**
-	 * private method to create all the possible angles in a figure
-	 * adds all angles into an equivalence class
+	 * @return the number of angles of the figure (getAngles().size()), counted from the
+	 *         rays at each vertex (see VertexRays) unless getAngles() already has been called
+	 */
+	public long countAngles()
+	{
+		if (_angles != null) return _angles.size();
+
+		return new VertexRays(_segments.keySet()).countAngles();
+	}
+
+	/**
+	 * @return the number of angle equivalence classes of the figure (getAngles().numClasses()),
+	 *         counted as countAngles()
 	 */
-	private void computeAngles()
+	public long countAngleClasses()
 	{
+		if (_angles != null) return _angles.numClasses();
+
+		return new VertexRays(_segments.keySet()).countAngleClasses();
+	}
+
+	/**
+	 * Reference implementation of getAngles(): tries every ordered pair of segments.
+	 * Produces the same angles and classes; kept for comparison.
+	 */
+	public AngleEquivalenceClasses computeAnglesByPairs()
+	{
+		AngleEquivalenceClasses angles = new AngleEquivalenceClasses();
+
 		Set<Segment> givenSegments = _segments.keySet();
 		
 		//compares every segment and creates an angle if there is a shared
@@ -57,9 +89,11 @@ public class AngleIdentifier
 				//makes an angle but can catch the potential exception
 				try {
 					Angle angle = new Angle(ray1, ray2);
-					_angles.add(angle);
+					angles.add(angle);
 				} catch (FactException e) {	}
 			}
 		}
+
+		return angles;
 	}
 }
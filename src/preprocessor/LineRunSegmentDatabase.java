@@ -0,0 +1,340 @@
+package preprocessor;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import utilities.math.MathUtilities;
+
+/**
+ * A compact, read-only segment database.
+ *
+ * Each maximal line of a figure (a chain of collinear minimal segments) is stored as its
+ * ordered points; the segments of the figure are all pairs of points on the same run:
+ *
+ *    A-------B-------C------D     stored as [A, B, C, D]; segments AB, AC, AD, BC, BD, CD
+ *
+ * A run of k points costs O(k) space rather than O(k^2) segments. Segments are built
+ * lazily while iterating; lookups binary search the runs through an endpoint.
+ *
+ * The map is read-only to clients; the Preprocessor replaces the runs of the lines an
+ * edit touches (removeRunsOf, addRuns) rather than rebuilding the database.
+ *
+ * As with Preprocessor.getAllSegments(), the map is keyed by segment with key == value.
+ */
+public class LineRunSegmentDatabase extends AbstractMap<Segment, Segment>
+{
+	// The location of a point in one of the runs
+	private record RunPosition(int run, int index) {}
+
+	// A removed run leaves null in its slot, reused by the next added run
+	protected List<Point[]> _runs;
+	protected List<Integer> _freeSlots;
+	protected Map<Point, List<RunPosition>> _positions;
+	protected int _size;
+	protected int _nonMinimalSize;
+
+	/**
+	 * @param runs -- the points of each maximal line, in order along the line
+	 */
+	public LineRunSegmentDatabase(List<List<Point>> runs)
+	{
+		_runs = new ArrayList<Point[]>();
+		_freeSlots = new ArrayList<Integer>();
+		_positions = new HashMap<Point, List<RunPosition>>();
+
+		addRuns(runs);
+	}
+
+	/**
+	 * @param runs -- the points of each new maximal line, in order along the line
+	 */
+	void addRuns(List<List<Point>> runs)
+	{
+		for (List<Point> run : runs)
+		{
+			Point[] points = run.toArray(new Point[0]);
+
+			// lexicographic order is monotone along a line; keep runs ascending for binary search
+			if (points.length > 1 && compare(points[0], points[points.length - 1]) > 0)
+			{
+				Collections.reverse(Arrays.asList(points));
+			}
+
+			int slot = _freeSlots.isEmpty() ? _runs.size() : _freeSlots.remove(_freeSlots.size() - 1);
+			if (slot == _runs.size()) _runs.add(points);
+			else _runs.set(slot, points);
+
+			for (int index = 0; index < points.length; index++)
+			{
+				_positions.computeIfAbsent(points[index], p -> new ArrayList<RunPosition>())
+				          .add(new RunPosition(slot, index));
+			}
+
+			_size += points.length * (points.length - 1) / 2;
+			_nonMinimalSize += points.length * (points.length - 1) / 2 - (points.length - 1);
+		}
+	}
+
+	/**
+	 * Removes every run holding one of the segments
+	 * @param segments -- segments of the figure (others are ignored)
+	 */
+	void removeRunsOf(Collection<Segment> segments)
+	{
+		for (Segment segment : segments)
+		{
+			int[] location = locate(segment);
+			if (location == null) continue;
+
+			Point[] points = _runs.get(location[0]);
+			for (Point pt : points)
+			{
+				List<RunPosition> positions = _positions.get(pt);
+				positions.removeIf(position -> position.run() == location[0]);
+				if (positions.isEmpty()) _positions.remove(pt);
+			}
+
+			_runs.set(location[0], null);
+			_freeSlots.add(location[0]);
+
+			_size -= points.length * (points.length - 1) / 2;
+			_nonMinimalSize -= points.length * (points.length - 1) / 2 - (points.length - 1);
+		}
+	}
+
+	@Override
+	public int size() { return _size; }
+
+	@Override
+	public boolean containsKey(Object key)
+	{
+		return locate(key) != null;
+	}
+
+	/**
+	 * @return the segment between the database's points for these endpoints; null if not a segment of the figure
+	 */
+	@Override
+	public Segment get(Object key)
+	{
+		int[] location = locate(key);
+		if (location == null) return null;
+
+		Point[] run = _runs.get(location[0]);
+		return new Segment(run[location[1]], run[location[2]]);
+	}
+
+	/**
+	 * The database counterpart of Segment.HasSubSegment: both segments must lie on the same run.
+	 *
+	 * @param segment -- a segment of the figure
+	 * @param candidate -- a segment of the figure
+	 * @return true if candidate is a subsegment of segment
+	 */
+	public boolean hasSubSegment(Segment segment, Segment candidate)
+	{
+		int[] outer = locate(segment);
+		int[] inner = locate(candidate);
+
+		if (outer == null || inner == null || outer[0] != inner[0]) return false;
+
+		int low = Math.min(outer[1], outer[2]);
+		int high = Math.max(outer[1], outer[2]);
+
+		return low <= Math.min(inner[1], inner[2]) && Math.max(inner[1], inner[2]) <= high;
+	}
+
+	/**
+	 * @return a lazy view of the segments that are not minimal (those spanning 3 or more points of a run)
+	 */
+	public Set<Segment> nonMinimalSegments()
+	{
+		return new AbstractSet<Segment>()
+		{
+			@Override
+			public Iterator<Segment> iterator() { return new SegmentIterator(2); }
+
+			@Override
+			public int size() { return _nonMinimalSize; }
+
+			@Override
+			public boolean contains(Object obj)
+			{
+				int[] location = locate(obj);
+
+				return location != null && Math.abs(location[1] - location[2]) > 1;
+			}
+		};
+	}
+
+	@Override
+	public Set<Segment> keySet()
+	{
+		return new AbstractSet<Segment>()
+		{
+			@Override
+			public Iterator<Segment> iterator() { return new SegmentIterator(1); }
+
+			@Override
+			public int size() { return _size; }
+
+			@Override
+			public boolean contains(Object obj) { return containsKey(obj); }
+		};
+	}
+
+	@Override
+	public Set<Map.Entry<Segment, Segment>> entrySet()
+	{
+		return new AbstractSet<Map.Entry<Segment, Segment>>()
+		{
+			@Override
+			public Iterator<Map.Entry<Segment, Segment>> iterator()
+			{
+				Iterator<Segment> segments = new SegmentIterator(1);
+
+				return new Iterator<Map.Entry<Segment, Segment>>()
+				{
+					@Override
+					public boolean hasNext() { return segments.hasNext(); }
+
+					@Override
+					public Map.Entry<Segment, Segment> next()
+					{
+						Segment segment = segments.next();
+						return Map.entry(segment, segment);
+					}
+				};
+			}
+
+			@Override
+			public int size() { return _size; }
+		};
+	}
+
+	/*
+	 * @param key -- a segment
+	 * @return { run, index of point 1, index of point 2 } if the segment lies on a run; null otherwise
+	 */
+	private int[] locate(Object key)
+	{
+		if (!(key instanceof Segment)) return null;
+		Segment segment = (Segment)key;
+
+		List<RunPosition> positions = _positions.get(segment.getPoint1());
+		if (positions == null) return null;
+
+		for (RunPosition position : positions)
+		{
+			int other = indexOf(_runs.get(position.run()), segment.getPoint2());
+
+			if (other >= 0 && other != position.index()) return new int[] { position.run(), position.index(), other };
+		}
+
+		return null;
+	}
+
+	/*
+	 * Binary search of an (ascending) run
+	 */
+	private static int indexOf(Point[] run, Point pt)
+	{
+		int low = 0;
+		int high = run.length - 1;
+
+		while (low <= high)
+		{
+			int mid = (low + high) >>> 1;
+			int order = compare(run[mid], pt);
+
+			if (order == 0) return mid;
+			if (order < 0) low = mid + 1;
+			else high = mid - 1;
+		}
+
+		return -1;
+	}
+
+	/*
+	 * Lexicographic ordering that agrees with Point.equals
+	 */
+	private static int compare(Point p1, Point p2)
+	{
+		if (!MathUtilities.doubleEquals(p1.getX(), p2.getX())) return p1.getX() < p2.getX() ? -1 : 1;
+		if (!MathUtilities.doubleEquals(p1.getY(), p2.getY())) return p1.getY() < p2.getY() ? -1 : 1;
+		return 0;
+	}
+
+	/*
+	 * Lazily enumerates the pairs (i, j) of each run with j - i >= minimum gap
+	 */
+	private class SegmentIterator implements Iterator<Segment>
+	{
+		private final int _gap;
+		private int _run;
+		private int _first;
+		private int _second;
+
+		SegmentIterator(int gap)
+		{
+			_gap = gap;
+			_run = 0;
+			_first = 0;
+			_second = gap;
+			advance();
+		}
+
+		// move to the next valid (run, first, second), if any
+		private void advance()
+		{
+			while (_run < _runs.size())
+			{
+				Point[] run = _runs.get(_run);
+
+				if (run != null)
+				{
+					if (_second < run.length) return;
+
+					_first++;
+					_second = _first + _gap;
+
+					if (_second < run.length) continue;
+				}
+
+				// a removed run, or past the end of this one
+				_run++;
+				_first = 0;
+				_second = _gap;
+			}
+		}
+
+		@Override
+		public boolean hasNext() { return _run < _runs.size(); }
+
+		@Override
+		public Segment next()
+		{
+			if (!hasNext()) throw new NoSuchElementException();
+
+			Point[] run = _runs.get(_run);
+			Segment segment = new Segment(run[_first], run[_second]);
+
+			_second++;
+			advance();
+
+			return segment;
+		}
+	}
+}
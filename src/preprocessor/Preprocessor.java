@@ -1,8 +1,13 @@
 package preprocessor;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.Map;
@@ -11,7 +16,11 @@ import java.util.Set;
 
 import geometry_objects.points.Point;
 import geometry_objects.points.PointDatabase;
+import input.components.exception.NotInDatabaseException;
 import preprocessor.delegates.ImplicitPointPreprocessor;
+import preprocessor.delegates.UniformGridIndex;
+import preprocessor.delegates.VertexWelder;
+import utilities.metrics.StageMetrics;
 import geometry_objects.Segment;
 
 /**
@@ -56,12 +65,40 @@ public class Preprocessor
 	protected Map<Segment, Segment> _segmentDatabase;
 	public Map<Segment, Segment> getAllSegments() { return _segmentDatabase; }
 
+	// If set, the segment database stores each maximal line as a run of points
+	// (see LineRunSegmentDatabase) instead of materializing every segment.
+	protected boolean _compactSegments;
+
+	// Maps each point to the one object representing it (the database object);
+	// the given segments and implicit points are welded by each analyze()
+	protected VertexWelder _welder;
+
+	// Spatial index over all points and the given segments; rebuilt by each analyze()
+	// so segments only examine points in the grid cells they cross.
+	protected UniformGridIndex _index;
+
+	// Timing and sizes of each stage of the last analyze() (see StageMetrics.setEnabled)
+	protected StageMetrics _metrics;
+	public StageMetrics getMetrics() { return _metrics; }
+
 	public Preprocessor(PointDatabase points, Set<Segment> segments)
+	{
+		this(points, segments, false);
+	}
+
+	/**
+	 * @param segments -- the given segments (copied: addSegment and removeSegment do not change the set)
+	 * @param compactSegments -- if true, getAllSegments() (and the non-minimal segments) are
+	 *                           read-only views backed by one ordered run of points per line
+	 */
+	public Preprocessor(PointDatabase points, Set<Segment> segments, boolean compactSegments)
 	{
 		_pointDatabase  = points;
-		_givenSegments = segments;
+		_givenSegments = new LinkedHashSet<Segment>(segments);
+		_compactSegments = compactSegments;
 
 		_segmentDatabase = new HashMap<Segment, Segment>();
+		_metrics = new StageMetrics();
 
 		analyze();
 	}
@@ -71,33 +108,69 @@ public class Preprocessor
 	 */
 	public void analyze()
 	{
+		_metrics.clear();
+
 		//
-		// Implicit Points
+		// Weld: segment endpoints become the database objects for those points
 		//
+		StageMetrics.Timer timer = _metrics.start("weld", _givenSegments.size());
+		_welder = new VertexWelder(_pointDatabase);
+		_givenSegments = _welder.weldSegments(_givenSegments);
+		timer.stop(_givenSegments.size());
+
+		//
+		// Implicit Points (welded: crossings found by several pairs of segments are one object)
+		//
+		timer = _metrics.start("implicit points", _givenSegments.size());
 		_implicitPoints = ImplicitPointPreprocessor.compute(_pointDatabase, _givenSegments.stream().toList());
+		_implicitPoints = _welder.weldPoints(_implicitPoints);
+		timer.stop(_implicitPoints.size());
+
+		timer = _metrics.start("grid index", _pointDatabase.getPoints().size() + _givenSegments.size());
+		_index = new UniformGridIndex(_pointDatabase.getPoints(), _givenSegments);
+		timer.stop(_pointDatabase.getPoints().size() + _givenSegments.size());
 
 		//
 		// Implicit Segments attributed to implicit points
 		//
+		timer = _metrics.start("implicit segments", _implicitPoints.size());
 		_implicitSegments = computeImplicitBaseSegments(_implicitPoints);
+		timer.stop(_implicitSegments.size());
 
 		//
 		// Combine the given minimal segments and implicit segments into a true set of minimal segments
 		//     *givenSegments may not be minimal
 		//     * implicitSegmen
 		//
+		timer = _metrics.start("minimal segments", _givenSegments.size() + _implicitSegments.size());
 		_allMinimalSegments = identifyAllMinimalSegments(_implicitPoints, _givenSegments, _implicitSegments);
+		timer.stop(_allMinimalSegments.size());
+
+		timer = _metrics.start("non-minimal segments", _allMinimalSegments.size());
+
+		//
+		// Compact: all segments are pairs of points along each maximal line
+		//
+		if (_compactSegments)
+		{
+			LineRunSegmentDatabase database = new LineRunSegmentDatabase(collinearRuns(_allMinimalSegments));
+			_nonMinimalSegments = database.nonMinimalSegments();
+			_segmentDatabase = database;
+			timer.stop(_nonMinimalSegments.size());
+			return;
+		}
 
 		//
 		// Construct all segments inductively from the base segments
 		//
-		_nonMinimalSegments = constructAllNonMinimalSegments(_allMinimalSegments);
+		_nonMinimalSegments = constructAllNonMinimalSegmentsByLine(_allMinimalSegments);
 
 		//
 		// Combine minimal and non-minimal into one package: our database
 		//
 		_allMinimalSegments.forEach((segment) -> _segmentDatabase.put(segment, segment));
 		_nonMinimalSegments.forEach((segment) -> _segmentDatabase.put(segment, segment));
+		timer.stop(_nonMinimalSegments.size());
 	}
 
 	/**
@@ -115,31 +188,41 @@ public class Preprocessor
 	protected Set<Segment> computeImplicitBaseSegments(Set<Point> impPoints)
 	{
 		Set<Segment> impSegments = new HashSet<Segment>();	
-		Set<Point> givenPoints = _pointDatabase.getPoints();
 
 		for(Segment segment : _givenSegments)
 		{
-			SortedSet<Point> pointsOnLine = new TreeSet<Point>();
+			SortedSet<Point> pointsOnLine = orderedPointsOn(segment);
 
-			//checks if any implicit point is on the segment
-			for(Point point : givenPoints)
+			//if a point lies between the endpoints: keeps only implicitMinSegs vs all minSegs
+			if(pointsOnLine.size() > 2)
 			{
-				if(segment.pointLiesBetweenEndpoints(point))
-				{
-					pointsOnLine.add(point);
-				}
+				//makes segment list from all points on the line
+				impSegments.addAll(makeSegments(pointsOnLine));
 			}
-			//if a point was added: keeps only implicitMinSegs vs all minSegs
-			if(pointsOnLine.size() != 0)
+		}
+		return impSegments;
+	}
+
+	/**
+	 * @param segment -- a given segment
+	 * @return the endpoints of the segment and all points of the figure between them (ordered)
+	 */
+	protected SortedSet<Point> orderedPointsOn(Segment segment)
+	{
+		SortedSet<Point> pointsOnLine = new TreeSet<Point>();
+
+		//checks if any implicit point is on the segment
+		for(Point point : _index.pointsNear(segment))
+		{
+			if(segment.pointLiesBetweenEndpoints(point))
 			{
-				pointsOnLine.add(segment.getPoint1());
-				pointsOnLine.add(segment.getPoint2());
+				pointsOnLine.add(point);
 			}
-
-			//makes segment list from all points on the line
-			impSegments.addAll(makeSegments(pointsOnLine));
 		}
-		return impSegments;
+		pointsOnLine.add(segment.getPoint1());
+		pointsOnLine.add(segment.getPoint2());
+
+		return pointsOnLine;
 	}
 
 	/**
@@ -181,13 +264,12 @@ public class Preprocessor
 			Set<Segment> minimalImpSegments)
 	{
 		Set<Segment> minimal = new HashSet<Segment>(minimalImpSegments);
-		Set<Point> allPoints = _pointDatabase.getPoints();
 
 		//checks if any given segments are minimal by checking if the endpoints
 		//are the only two points on the line
 		for(Segment currSegment : givenSegments)
 		{
-			if(currSegment.collectOrderedPointsOnSegment(allPoints).size() == 2) //2 accounts for each endpoint
+			if(currSegment.collectOrderedPointsOnSegment(_index.pointsNear(currSegment)).size() == 2) //2 accounts for each endpoint
 			{
 				minimal.add(currSegment);
 			}
@@ -201,6 +283,8 @@ public class Preprocessor
 	 * attemping to append minimal segments (one at a time).
 	 * 
 	 * (Recursive construction of segments.)
+	 * 
+	 * Reference implementation; analyze() uses constructAllNonMinimalSegmentsByLine.
 	 */
 	public Set<Segment> constructAllNonMinimalSegments(Set<Segment> minimalSegs)
 	{
@@ -228,6 +312,396 @@ public class Preprocessor
 		return nonMinimalSegs;
 	}
 
+	/**
+	 * Given a set of minimal segments, build non-minimal segments line by line.
+	 * 
+	 * Minimal segments are chained into maximal runs of collinear segments:
+	 * 
+	 *  1----------2------3----------4--------5
+	 *
+	 * every pair of non-adjacent points in a run defines a non-minimal segment;
+	 * a run of k points yields k(k-1)/2 - (k-1) of them (here: 13, 14, 15, 24, 25, 35).
+	 * 
+	 * Produces the same set as constructAllNonMinimalSegments in time proportional to the output.
+	 */
+	public Set<Segment> constructAllNonMinimalSegmentsByLine(Set<Segment> minimalSegs)
+	{
+		Set<Segment> nonMinimalSegs = new HashSet<Segment>();
+
+		for (List<Point> run : collinearRuns(minimalSegs))
+		{
+			for (int i = 0; i < run.size(); i++)
+			{
+				for (int j = i + 2; j < run.size(); j++)
+				{
+					nonMinimalSegs.add(new Segment(run.get(i), run.get(j)));
+				}
+			}
+		}
+		return nonMinimalSegs;
+	}
+
+	/**
+	 * @param minimalSegs -- a set of minimal segments
+	 * @return the points of each maximal chain of collinear minimal segments, in order along the chain
+	 */
+	protected List<List<Point>> collinearRuns(Set<Segment> minimalSegs)
+	{
+		Map<Point, List<Segment>> incident = new HashMap<Point, List<Segment>>();
+		for (Segment segment : minimalSegs)
+		{
+			incident.computeIfAbsent(segment.getPoint1(), p -> new ArrayList<Segment>()).add(segment);
+			incident.computeIfAbsent(segment.getPoint2(), p -> new ArrayList<Segment>()).add(segment);
+		}
+
+		List<List<Point>> runs = new ArrayList<List<Point>>();
+		Set<Segment> visited = new HashSet<Segment>();
+
+		for (Segment segment : minimalSegs)
+		{
+			if (!visited.add(segment)) continue;
+
+			Deque<Point> run = new ArrayDeque<Point>();
+			run.add(segment.getPoint1());
+			run.add(segment.getPoint2());
+
+			//extend the run in both directions
+			Segment current = segment;
+			Segment next;
+			while ((next = collinearContinuation(current, run.getLast(), incident)) != null && visited.add(next))
+			{
+				run.addLast(next.other(run.getLast()));
+				current = next;
+			}
+
+			current = segment;
+			while ((next = collinearContinuation(current, run.getFirst(), incident)) != null && visited.add(next))
+			{
+				run.addFirst(next.other(run.getFirst()));
+				current = next;
+			}
+
+			runs.add(new ArrayList<Point>(run));
+		}
+		return runs;
+	}
+
+	/*
+	 * @return the minimal segment at @vertex that continues @segment along its line (null if none)
+	 */
+	private Segment collinearContinuation(Segment segment, Point vertex, Map<Point, List<Segment>> incident)
+	{
+		for (Segment candidate : incident.getOrDefault(vertex, List.of()))
+		{
+			if (extendsCollinearly(segment, candidate)) return candidate;
+		}
+		return null;
+	}
+
+	/**
+	 * Adds a segment to the figure without re-analyzing it.
+	 * 
+	 * Only the given segments the new segment crosses, touches or runs along
+	 * (together with the given segments collinear with those) are re-derived:
+	 * their minimal and non-minimal segments are retracted and recomputed.
+	 * 
+	 * @param segment -- a new segment; endpoints not in the point database are added to it
+	 * @return false if the segment (welded) is already part of the figure or collapses to a point;
+	 *         the figure is then unchanged
+	 */
+	public boolean addSegment(Segment segment)
+	{
+		//check the welded segment before anything is retracted or added to the database
+		Segment welded = _welder.weld(segment);
+		if (welded == null || _givenSegments.contains(welded)) return false;
+		segment = welded;
+
+		Set<Segment> affected = collinearTouching(segment);
+
+		List<Point> crossings = new ArrayList<Point>();
+		for (Segment given : _index.segmentsNear(segment))
+		{
+			Point crossing = segment.segmentIntersection(given);
+			if (crossing != null)
+			{
+				crossings.add(crossing);
+				affected.add(given);
+			}
+		}
+
+		List<Point> newEndpoints = new ArrayList<Point>();
+		for (Point endpoint : List.of(segment.getPoint1(), segment.getPoint2()))
+		{
+			if (lookup(endpoint) != null) continue;
+
+			newEndpoints.add(endpoint);
+			affected.addAll(segmentsThrough(endpoint));
+		}
+
+		retract(collinearChains(affected));
+
+		newEndpoints.forEach(this::addToDatabase);
+		crossings.forEach((crossing) -> _implicitPoints.add(addToDatabase(crossing)));
+
+		//new endpoints are database objects now
+		segment = _welder.weld(segment);
+		_givenSegments.add(segment);
+		_index.add(segment);
+		affected.add(segment);
+
+		derive(collinearChains(affected));
+
+		return true;
+	}
+
+	/**
+	 * Removes a segment from the figure without re-analyzing it.
+	 * 
+	 * Implicit points that were only caused by this segment are no longer implicit;
+	 * they leave the point database unless they are an endpoint of a remaining segment.
+	 * 
+	 * @param segment -- a given segment
+	 * @return false if the segment is not part of the figure
+	 */
+	public boolean removeSegment(Segment segment)
+	{
+		if (!_givenSegments.contains(segment)) return false;
+
+		Set<Segment> affected = collinearTouching(segment);
+
+		List<Point> crossings = new ArrayList<Point>();
+		for (Segment given : _index.segmentsNear(segment))
+		{
+			Point crossing = segment.segmentIntersection(given);
+			if (crossing != null)
+			{
+				crossings.add(crossing);
+				affected.add(given);
+			}
+		}
+
+		affected.add(segment);
+		retract(collinearChains(affected));
+
+		_givenSegments.remove(segment);
+		_index.remove(segment);
+		affected.remove(segment);
+
+		for (Point crossing : crossings)
+		{
+			Point stored = lookup(crossing);
+			if (stored == null || isCrossing(stored)) continue;
+
+			_implicitPoints.remove(stored);
+
+			if (_pointDatabase.isGenerated(stored) && !isEndpoint(stored))
+			{
+				_pointDatabase.remove(stored);
+				_index.remove(stored);
+			}
+		}
+
+		derive(collinearChains(affected));
+
+		return true;
+	}
+
+	/**
+	 * Adds a point to the figure without re-analyzing it; the given segments
+	 * the point lies on (and those collinear with them) are re-derived.
+	 * 
+	 * @param pt -- a point
+	 * @return the database object for the point
+	 */
+	public Point addPoint(Point pt)
+	{
+		Point stored = lookup(pt);
+		if (stored != null) return stored;
+
+		Set<Segment> chains = collinearChains(segmentsThrough(pt));
+
+		retract(chains);
+		stored = addToDatabase(pt);
+		derive(chains);
+
+		return stored;
+	}
+
+	/*
+	 * Remove the minimal and non-minimal segments derived from these given segments.
+	 */
+	private void retract(Set<Segment> givenSegments)
+	{
+		Set<Segment> implicit = new HashSet<Segment>();
+		Set<Segment> minimal = minimalSegmentsOf(givenSegments, implicit);
+
+		_implicitSegments.removeAll(implicit);
+		_allMinimalSegments.removeAll(minimal);
+
+		//the runs of these segments hold only segments derived from the same given segments
+		if (_compactSegments)
+		{
+			((LineRunSegmentDatabase)_segmentDatabase).removeRunsOf(minimal);
+			return;
+		}
+
+		Set<Segment> nonMinimal = constructAllNonMinimalSegmentsByLine(minimal);
+		_nonMinimalSegments.removeAll(nonMinimal);
+		_segmentDatabase.keySet().removeAll(minimal);
+		_segmentDatabase.keySet().removeAll(nonMinimal);
+	}
+
+	/*
+	 * (Re)compute the minimal and non-minimal segments derived from these given segments.
+	 */
+	private void derive(Set<Segment> givenSegments)
+	{
+		Set<Segment> implicit = new HashSet<Segment>();
+		Set<Segment> minimal = minimalSegmentsOf(givenSegments, implicit);
+
+		_implicitSegments.addAll(implicit);
+		_allMinimalSegments.addAll(minimal);
+
+		if (_compactSegments)
+		{
+			((LineRunSegmentDatabase)_segmentDatabase).addRuns(collinearRuns(minimal));
+			return;
+		}
+
+		Set<Segment> nonMinimal = constructAllNonMinimalSegmentsByLine(minimal);
+		_nonMinimalSegments.addAll(nonMinimal);
+		minimal.forEach((seg) -> _segmentDatabase.put(seg, seg));
+		nonMinimal.forEach((seg) -> _segmentDatabase.put(seg, seg));
+	}
+
+	/*
+	 * @param givenSegments -- given segments
+	 * @param implicit -- collects the pieces of given segments split by a point
+	 * @return the minimal segments lying on the given segments
+	 */
+	private Set<Segment> minimalSegmentsOf(Set<Segment> givenSegments, Set<Segment> implicit)
+	{
+		Set<Segment> minimal = new HashSet<Segment>();
+
+		for (Segment given : givenSegments)
+		{
+			Set<Segment> pieces = makeSegments(orderedPointsOn(given));
+
+			if (pieces.size() > 1) implicit.addAll(pieces);
+			minimal.addAll(pieces);
+		}
+		return minimal;
+	}
+
+	/*
+	 * @return the given segments reachable from @seeds through collinear, touching given segments;
+	 *         the segments derived from these depend on nothing else
+	 */
+	private Set<Segment> collinearChains(Set<Segment> seeds)
+	{
+		Set<Segment> chains = new LinkedHashSet<Segment>();
+		Queue<Segment> queue = new LinkedList<Segment>();
+
+		for (Segment seed : seeds)
+		{
+			if (_givenSegments.contains(seed) && chains.add(seed)) queue.add(seed);
+		}
+
+		while (!queue.isEmpty())
+		{
+			for (Segment neighbor : collinearTouching(queue.remove()))
+			{
+				if (chains.add(neighbor)) queue.add(neighbor);
+			}
+		}
+		return chains;
+	}
+
+	/*
+	 * @return the given segments on the same line as @segment that overlap or touch it
+	 */
+	private Set<Segment> collinearTouching(Segment segment)
+	{
+		Set<Segment> touching = new LinkedHashSet<Segment>();
+
+		for (Segment given : _index.segmentsNear(segment))
+		{
+			if (!segment.isCollinearWith(given)) continue;
+
+			if (segment.pointLiesOnSegment(given.getPoint1()) || segment.pointLiesOnSegment(given.getPoint2()) ||
+				given.pointLiesOnSegment(segment.getPoint1()) || given.pointLiesOnSegment(segment.getPoint2()))
+			{
+				touching.add(given);
+			}
+		}
+		return touching;
+	}
+
+	/*
+	 * @return the given segments with @pt strictly between their endpoints
+	 */
+	private Set<Segment> segmentsThrough(Point pt)
+	{
+		Set<Segment> through = new LinkedHashSet<Segment>();
+
+		for (Segment given : _index.segmentsNear(pt))
+		{
+			if (given.pointLiesBetweenEndpoints(pt)) through.add(given);
+		}
+		return through;
+	}
+
+	/*
+	 * @return true if two given segments cross at @pt
+	 */
+	private boolean isCrossing(Point pt)
+	{
+		List<Segment> through = new ArrayList<Segment>(segmentsThrough(pt));
+
+		for (int i = 0; i < through.size(); i++)
+		{
+			for (int j = i + 1; j < through.size(); j++)
+			{
+				if (through.get(i).segmentIntersection(through.get(j)) != null) return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * @return true if @pt is an endpoint of a given segment
+	 */
+	private boolean isEndpoint(Point pt)
+	{
+		return _index.segmentsNear(pt).stream().anyMatch((given) -> given.has(pt));
+	}
+
+	/*
+	 * @return the database object for @pt; null if the point is not in the database
+	 */
+	private Point lookup(Point pt)
+	{
+		try { return _pointDatabase.getPoint(pt); }
+		catch (NotInDatabaseException e) { return null; }
+	}
+
+	/*
+	 * Name @pt (if new) and index it.
+	 * 
+	 * @return the database object for @pt
+	 */
+	private Point addToDatabase(Point pt)
+	{
+		Point stored = lookup(pt);
+		if (stored != null) return stored;
+
+		_pointDatabase.put(pt);
+		stored = lookup(pt);
+		_index.add(stored);
+
+		return stored;
+	}
+
 	//
 	// Our goal is to stitch together segments that are on the same line:
 	//                       A---------B----------C
@@ -239,11 +713,21 @@ public class Preprocessor
 	// If both criteria are satisfied we have a new segment.
 	private Segment combineToNewSegment(Segment left, Segment right)
 	{
-		Point sharedVertex =  left.sharedVertex(right);
-		if(sharedVertex == null) return null;
-		if(! left.isCollinearWith(right)) return null;
-		if(left.HasSubSegment(right) || right.HasSubSegment(left)) return null;
-		
+		if(!extendsCollinearly(left, right)) return null;
+
+		Point sharedVertex = left.sharedVertex(right);
 		return new Segment(left.other(sharedVertex), right.other(sharedVertex));
 	}
+
+	/*
+	 * @return true if the segments share an endpoint, lie on the same line and do not overlap
+	 */
+	private boolean extendsCollinearly(Segment left, Segment right)
+	{
+		if(left.sharedVertex(right) == null) return false;
+		if(! left.isCollinearWith(right)) return false;
+		if(left.HasSubSegment(right) || right.HasSubSegment(left)) return false;
+
+		return true;
+	}
 }
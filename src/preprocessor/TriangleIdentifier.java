@@ -1,15 +1,27 @@
 package preprocessor;
 
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import exceptions.FactException;
 import geometry_objects.Segment;
 import geometry_objects.Triangle;
+import preprocessor.delegates.CountEstimate;
+import preprocessor.delegates.TriangleEstimator;
+import preprocessor.delegates.VertexAdjacency;
+import utilities.metrics.StageMetrics;
 
 /**
  * class that finds triangles with a given set of segments
@@ -23,9 +35,26 @@ public class TriangleIdentifier
 	protected Set<Triangle>         _triangles;
 	protected Map<Segment, Segment> _segments; // The set of ALL segments for this figure.
 
+	// If set, triangles are identified by tasks in this pool (see TriangleTask); otherwise sequentially
+	protected ForkJoinPool _pool;
+
+	protected StageMetrics _metrics;
+	public StageMetrics getMetrics() { return _metrics; }
+
 	public TriangleIdentifier(Map<Segment, Segment> segments)
+	{
+		this(segments, null);
+	}
+
+	/**
+	 * @param pool -- if not null, the pool whose threads identify the triangles (in parallel);
+	 *                getTriangles() is the same set either way
+	 */
+	public TriangleIdentifier(Map<Segment, Segment> segments, ForkJoinPool pool)
 	{
 		_segments = segments;
+		_pool = pool;
+		_metrics = new StageMetrics();
 	}
 
 	/*
@@ -38,16 +67,236 @@ public class TriangleIdentifier
 
 		_triangles = new HashSet<Triangle>();
 
+		StageMetrics.Timer timer = _metrics.start("triangles", _segments.size());
 		computeTriangles();
+		timer.stop(_triangles.size());
 
 		return _triangles;
 	}
 
+	/**
+	 * @return the number of triangles of the figure (getTriangles().size()), counted without
+	 *         constructing them unless getTriangles() already has been called
+	 */
+	public long countTriangles()
+	{
+		if (_triangles != null) return _triangles.size();
+
+		return VertexAdjacency.of(_segments.keySet()).countTriangles();
+	}
+
+	/**
+	 * @param budget -- time to spend sampling (beyond building the adjacency of the segments)
+	 * @return an estimate of countTriangles(), with a 95% confidence interval; exact if the
+	 *         budget sufficed to sample every segment (see TriangleEstimator)
+	 */
+	public CountEstimate estimateTriangles(Duration budget)
+	{
+		if (_triangles != null) return CountEstimate.exact(_triangles.size());
+
+		return new TriangleEstimator(VertexAdjacency.of(_segments.keySet()), 1).estimate(budget);
+	}
+
+	/**
+	 * The triangles of the figure, produced lazily: none is kept beyond the few found with the
+	 * one being handed out, and nothing is memoized (each call enumerates again), unless
+	 * getTriangles() already has been called. The stream splits by vertex, so it may run in parallel.
+	 */
+	public Stream<Triangle> triangles()
+	{
+		if (_triangles != null) return _triangles.stream();
+
+		VertexAdjacency adjacency = VertexAdjacency.of(_segments.keySet());
+
+		return StreamSupport.stream(new TriangleSpliterator(adjacency, 0, adjacency.vertexCount()), false);
+	}
+
 	/*
-	 * adds all valid triangles to the set
+	 * adds all valid triangles to the set (dense figures are enumerated with bitsets: see VertexAdjacency.of)
 	 */
 	private void computeTriangles()
 	{
+		VertexAdjacency adjacency = VertexAdjacency.of(_segments.keySet());
+
+		if (_pool != null)
+		{
+			_triangles.addAll(_pool.invoke(new TriangleTask(adjacency, 0, adjacency.vertexCount())));
+			return;
+		}
+
+		adjacency.forEachTriangle((uv, vw, uw) ->
+		{
+			Triangle t = makeTriangle(uv, vw, uw);
+			if (t != null) _triangles.add(t);
+		});
+	}
+
+	/*
+	 * The triangles whose lowest vertex is in a range of vertices (see VertexAdjacency):
+	 * ranges of more than GRAIN segments are halved and forked. Each task collects its
+	 * triangles in a list of its own; the lists are merged as the tasks are joined.
+	 */
+	private static class TriangleTask extends RecursiveTask<List<Triangle>>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private static final int GRAIN = 256;
+
+		private final VertexAdjacency _adjacency;
+		private final int _fromVertex;
+		private final int _toVertex;
+
+		TriangleTask(VertexAdjacency adjacency, int fromVertex, int toVertex)
+		{
+			_adjacency = adjacency;
+			_fromVertex = fromVertex;
+			_toVertex = toVertex;
+		}
+
+		@Override
+		protected List<Triangle> compute()
+		{
+			int split = _adjacency.splitVertex(_fromVertex, _toVertex);
+
+			if (_adjacency.edgeCount(_fromVertex, _toVertex) <= GRAIN || split == _fromVertex)
+			{
+				List<Triangle> triangles = new ArrayList<Triangle>();
+				_adjacency.forEachTriangle(_fromVertex, _toVertex, (uv, vw, uw) ->
+				{
+					Triangle t = makeTriangle(uv, vw, uw);
+					if (t != null) triangles.add(t);
+				});
+				return triangles;
+			}
+
+			TriangleTask upper = new TriangleTask(_adjacency, split, _toVertex);
+			upper.fork();
+
+			List<Triangle> triangles = new TriangleTask(_adjacency, _fromVertex, split).compute();
+			triangles.addAll(upper.join());
+			return triangles;
+		}
+	}
+
+	/*
+	 * The triangles whose lowest vertex is in a range of vertices, one out-list entry at a
+	 * time: the (at most degree) triangles on the next entry are found when the ones
+	 * on the previous entry have been handed out. Splits at VertexAdjacency.splitVertex().
+	 */
+	private static class TriangleSpliterator implements Spliterator<Triangle>
+	{
+		private final VertexAdjacency _adjacency;
+		private int _vertex;
+		private int _toVertex;
+
+		// The next out-list entry of _vertex
+		private int _edge;
+
+		private final ArrayDeque<Triangle> _buffer;
+
+		TriangleSpliterator(VertexAdjacency adjacency, int fromVertex, int toVertex)
+		{
+			_adjacency = adjacency;
+			_vertex = fromVertex;
+			_toVertex = toVertex;
+			_edge = adjacency.firstEdge(fromVertex);
+			_buffer = new ArrayDeque<Triangle>();
+		}
+
+		/*
+		 * Buffers the triangles on the next out-list entry
+		 * @return false if the range is exhausted
+		 */
+		private boolean fill()
+		{
+			while (_vertex < _toVertex && _edge == _adjacency.firstEdge(_vertex + 1)) _vertex++;
+
+			if (_vertex == _toVertex) return false;
+
+			_adjacency.forEachTriangleOn(_vertex, _edge++, (uv, vw, uw) ->
+			{
+				Triangle t = makeTriangle(uv, vw, uw);
+				if (t != null) _buffer.add(t);
+			});
+			return true;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Triangle> action)
+		{
+			while (_buffer.isEmpty())
+			{
+				if (!fill()) return false;
+			}
+
+			action.accept(_buffer.poll());
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Triangle> action)
+		{
+			while (!_buffer.isEmpty()) action.accept(_buffer.poll());
+
+			for ( ; _vertex < _toVertex; _vertex++)
+			{
+				for ( ; _edge < _adjacency.firstEdge(_vertex + 1); _edge++)
+				{
+					_adjacency.forEachTriangleOn(_vertex, _edge, (uv, vw, uw) ->
+					{
+						Triangle t = makeTriangle(uv, vw, uw);
+						if (t != null) action.accept(t);
+					});
+				}
+			}
+		}
+
+		/*
+		 * Hands the upper part of the vertices not yet started to a new spliterator
+		 */
+		@Override
+		public Spliterator<Triangle> trySplit()
+		{
+			int from = _edge == _adjacency.firstEdge(_vertex) ? _vertex : _vertex + 1;
+			if (_toVertex - from < 2) return null;
+
+			int split = _adjacency.splitVertex(from, _toVertex);
+			Spliterator<Triangle> upper = new TriangleSpliterator(_adjacency, split, _toVertex);
+			_toVertex = split;
+			return upper;
+		}
+
+		/*
+		 * The out-list entries left: proportional to the work, not to the triangles
+		 */
+		@Override
+		public long estimateSize()
+		{
+			return _vertex < _toVertex ? _adjacency.firstEdge(_toVertex) - _edge + _buffer.size() : _buffer.size();
+		}
+
+		@Override
+		public int characteristics() { return DISTINCT | NONNULL | IMMUTABLE; }
+	}
+
+	/*
+	 * @return the triangle bounded by three segments that pairwise share distinct,
+	 *         non-collinear endpoints (as VertexAdjacency hands them out); null if invalid
+	 */
+	private static Triangle makeTriangle(Segment uv, Segment vw, Segment uw)
+	{
+		try { return new Triangle(List.of(uv, vw, uw)); }
+		catch (FactException e) { return null; }
+	}
+
+	/**
+	 * Reference implementation of getTriangles(): tries every triple of segments.
+	 * Produces the same set of triangles; kept for comparison.
+	 */
+	public Set<Triangle> computeTrianglesByTriples()
+	{
+		Set<Triangle> triangles = new HashSet<Triangle>();
+
 		//makes _segments indexable
 		List<Segment> segments = _segments.keySet().stream().toList();
 		
@@ -66,7 +315,7 @@ public class TriangleIdentifier
 					try {
 						Triangle t = new Triangle(segList);
 						//if the triangle is valid, add it to the set
-						_triangles.add(t);
+						triangles.add(t);
 					} catch (FactException e) {
 						//if an exception is caught, then the triangle is not valid
 						//simply move onto a new combination of segments
@@ -74,6 +323,7 @@ public class TriangleIdentifier
 				}
 			}
 		}
+		return triangles;
 	}
 }
 
@@ -0,0 +1,46 @@
+package preprocessor.delegates;
+
+import exceptions.FactException;
+import geometry_objects.Segment;
+import geometry_objects.angle.AngleEquivalenceClasses;
+import geometry_objects.angle.RayPairAngleClass;
+
+/**
+ * Builds the angle equivalence classes of a figure directly from the rays at each vertex
+ * (see VertexRays): each pair of rays of a vertex is one class (a RayPairAngleClass), so no
+ * angle is compared with another and none but the canonical ones is constructed.
+ *
+ * The result has the classes (and canonical angles) that adding every angle of the figure
+ * to an AngleEquivalenceClasses would give.
+ */
+public class AngleClassBuilder
+{
+	public static AngleEquivalenceClasses build(VertexRays rays)
+	{
+		AngleEquivalenceClasses classes = new AngleEquivalenceClasses();
+
+		Segment[][] segments = new Segment[rays.rayCount()][];
+		for (int ray = 0; ray < rays.rayCount(); ray++) segments[ray] = segmentsOf(rays, ray);
+
+		for (int u = 0; u < rays.vertexCount(); u++)
+		{
+			for (int ray1 = rays.firstRay(u); ray1 < rays.firstRay(u + 1); ray1++)
+			{
+				for (int ray2 = ray1 + 1; ray2 < rays.firstRay(u + 1); ray2++)
+				{
+					try { classes.addClass(new RayPairAngleClass(segments[ray1], segments[ray2])); }
+					catch (FactException e) { }
+				}
+			}
+		}
+
+		return classes;
+	}
+
+	private static Segment[] segmentsOf(VertexRays rays, int ray)
+	{
+		Segment[] segments = new Segment[rays.raySize(ray)];
+		for (int k = 0; k < segments.length; k++) segments[k] = rays.segment(ray, k);
+		return segments;
+	}
+}
@@ -0,0 +1,138 @@
+package preprocessor.delegates;
+
+import java.util.Collection;
+
+import geometry_objects.Segment;
+
+/**
+ * VertexAdjacency for dense figures (nearly complete graphs, such as a polygon with all of its
+ * diagonals): the out-list of each vertex is also a bitset over vertex ids, so the vertices
+ * common to two out-lists are found 64 at a time with a word-wise AND.
+ *
+ * The collinear triples are masked out in the same pass: every line holding more than one
+ * segment has the bitset of the vertices on it, and the third vertex of a triangle on uv
+ * must not be on the line of uv.
+ *
+ * The sides of each triangle found are looked up in an n x n table of out-list entries,
+ * no larger (within a constant) than the segments of a dense figure.
+ */
+public class BitsetAdjacency extends VertexAdjacency
+{
+	/**
+	 * The density (see VertexAdjacency.density()) from which VertexAdjacency.of()
+	 * chooses this mode
+	 */
+	public static final double DENSITY_THRESHOLD = 0.25;
+
+	// Words per bitset
+	protected int _words;
+
+	// The bitset of vertex u is [u * _words, (u + 1) * _words)
+	protected long[] _out;
+
+	// The out-list entry of the segment uw at [u * vertexCount() + w]
+	protected int[] _slots;
+
+	// For each out-list entry, the row of its line in _lineMasks; NONE for a line of one segment
+	protected int[] _lineRows;
+	protected long[] _lineMasks;
+
+	protected static final int NONE = -1;
+
+	public BitsetAdjacency(Collection<Segment> segments)
+	{
+		this(new VertexAdjacency(segments));
+	}
+
+	public BitsetAdjacency(VertexAdjacency adjacency)
+	{
+		super(adjacency);
+
+		_words = (vertexCount() + 63) >>> 6;
+
+		_out = new long[vertexCount() * _words];
+		_slots = new int[vertexCount() * vertexCount()];
+		for (int u = 0; u < vertexCount(); u++)
+		{
+			for (int uv = _offsets[u]; uv < _offsets[u + 1]; uv++)
+			{
+				set(_out, u, _targets[uv]);
+				_slots[u * vertexCount() + _targets[uv]] = uv;
+			}
+		}
+
+		computeLineMasks();
+	}
+
+	private void computeLineMasks()
+	{
+		int edges = edgeCount();
+
+		// lines are numbered by their lowest entry: count the segments on each
+		int[] sizes = new int[edges];
+		for (int e = 0; e < edges; e++) sizes[_lines[e]]++;
+
+		int[] rows = new int[edges];
+		int lineCount = 0;
+		for (int e = 0; e < edges; e++) rows[e] = sizes[e] > 1 ? lineCount++ : NONE;
+
+		_lineRows = new int[edges];
+		_lineMasks = new long[lineCount * _words];
+		for (int u = 0; u < vertexCount(); u++)
+		{
+			for (int uv = _offsets[u]; uv < _offsets[u + 1]; uv++)
+			{
+				int row = rows[_lines[uv]];
+				_lineRows[uv] = row;
+
+				if (row == NONE) continue;
+
+				set(_lineMasks, row, u);
+				set(_lineMasks, row, _targets[uv]);
+			}
+		}
+	}
+
+	private void set(long[] bitsets, int row, int bit)
+	{
+		bitsets[row * _words + (bit >>> 6)] |= 1L << bit;
+	}
+
+	/*
+	 * @return word k of the vertices completing a (non-collinear) triangle on the
+	 *         out-list entry uv of vertex u
+	 */
+	private long common(int u, int uv, int k)
+	{
+		long word = _out[u * _words + k] & _out[_targets[uv] * _words + k];
+
+		return _lineRows[uv] == NONE ? word : word & ~_lineMasks[_lineRows[uv] * _words + k];
+	}
+
+	@Override
+	public void forEachTriangleOn(int u, int uv, TriangleConsumer consumer)
+	{
+		int n = vertexCount();
+		int v = _targets[uv];
+
+		for (int k = 0; k < _words; k++)
+		{
+			for (long word = common(u, uv, k); word != 0; word &= word - 1)
+			{
+				int w = (k << 6) + Long.numberOfTrailingZeros(word);
+
+				consumer.accept(_segments[uv], _segments[_slots[v * n + w]], _segments[_slots[u * n + w]]);
+			}
+		}
+	}
+
+	@Override
+	public int countTrianglesOn(int u, int uv)
+	{
+		int count = 0;
+
+		for (int k = 0; k < _words; k++) count += Long.bitCount(common(u, uv, k));
+
+		return count;
+	}
+}
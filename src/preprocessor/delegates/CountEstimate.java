@@ -0,0 +1,55 @@
+package preprocessor.delegates;
+
+/**
+ * An estimate of a count from a random sample of a population of parts (the count is the sum
+ * over the parts), with a 95% confidence interval [low, high]; exact when every part was sampled.
+ *
+ * @param value -- the estimated count
+ * @param low -- lower end of the confidence interval (never below the count seen in the sample)
+ * @param high -- upper end of the confidence interval
+ * @param samples -- number of parts sampled
+ * @param population -- number of parts
+ */
+public record CountEstimate(double value, double low, double high, long samples, long population)
+{
+	// The standard normal quantile of a two-sided 95% confidence interval
+	public static final double Z_95 = 1.959964;
+
+	public static CountEstimate exact(long count)
+	{
+		return new CountEstimate(count, count, count, 0, 0);
+	}
+
+	/**
+	 * @param sum -- the sum of the counts of the sampled parts
+	 * @param sumOfSquares -- the sum of their squares
+	 * @param samples -- the number of parts sampled (without replacement)
+	 * @param population -- the number of parts
+	 * @return the estimate N * mean, with the interval of the normal approximation
+	 *         (finite population corrected: zero wide once every part is sampled)
+	 */
+	public static CountEstimate fromSample(double sum, double sumOfSquares, long samples, long population)
+	{
+		if (samples >= population) return new CountEstimate(sum, sum, sum, samples, population);
+
+		double mean = sum / samples;
+		double value = population * mean;
+
+		if (samples < 2) return new CountEstimate(value, sum, Double.POSITIVE_INFINITY, samples, population);
+
+		double variance = Math.max(0, (sumOfSquares - samples * mean * mean) / (samples - 1));
+		double half = Z_95 * population * Math.sqrt((1 - (double) samples / population) * variance / samples);
+
+		return new CountEstimate(value, Math.max(sum, value - half), value + half, samples, population);
+	}
+
+	public boolean isExact() { return samples == population; }
+
+	@Override
+	public String toString()
+	{
+		if (isExact()) return String.format("%.0f", value);
+
+		return String.format("%.0f [%.0f, %.0f] (%d of %d sampled)", value, low, high, samples, population);
+	}
+}
@@ -1,10 +1,13 @@
 package preprocessor.delegates;
 
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import geometry_objects.Segment;
+import geometry_objects.delegates.intersections.IntersectionDelegate;
+import geometry_objects.delegates.intersections.SweepLineIntersectionDelegate;
 import geometry_objects.points.Point;
 import geometry_objects.points.PointDatabase;
 import input.components.exception.NotInDatabaseException;
@@ -24,36 +27,87 @@ public class ImplicitPointPreprocessor
 	 * and points that are not named; we need to capture those
 	 * points and name them.
 	 * 
+	 * Crossings are found with a sweep line (see SweepLineIntersectionDelegate).
 	 */
 	public static Set<Point> compute(PointDatabase givenPoints, List<Segment> givenSegments) 
 	{
 		Set<Point> implicitPoints = new LinkedHashSet<Point>();
 
+		for (Point impPoint : SweepLineIntersectionDelegate.findIntersections(givenSegments))
+		{
+			addImplicitPoint(givenPoints, impPoint, implicitPoints);
+		}
+		return implicitPoints;
+	}
+
+	/**
+	 * Reference implementation of compute(): every pair of segments is intersected.
+	 * Produces the same set of points as compute(); kept for comparison.
+	 */
+	public static Set<Point> computePairwise(PointDatabase givenPoints, List<Segment> givenSegments) 
+	{
+		Set<Point> implicitPoints = new LinkedHashSet<Point>();
+
 		Object[] segments = givenSegments.toArray();
+		double[] crossing = new double[2];
 
 		for(int i = 0; i < segments.length; i++)
 		{
 			for (int x = i + 1; x < segments.length; x++)
 			{
-				Point impPoint =
-						geometry_objects.delegates.intersections.IntersectionDelegate
-						.segmentIntersection((Segment)segments[i], (Segment)segments[x]);
-				
-				if(impPoint != null) 
+				if (IntersectionDelegate.segmentIntersection((Segment)segments[i], (Segment)segments[x], crossing))
 				{
-					//puts into givenPoints because it is a PointNamingFactory
-					//and will therefore give the implied point a name
-					givenPoints.put(impPoint);
-					
-					try {
-						//adds the named implicit point to the set of only implicit points
-						implicitPoints.add(givenPoints.getPoint(impPoint));
-					} catch (NotInDatabaseException e) {
-
-					} 
+					addImplicitPoint(givenPoints, new Point(crossing[0], crossing[1]), implicitPoints);
 				}
 			}
 		}
 		return implicitPoints;
 	}
+
+	/**
+	 * Pairwise intersection restricted to pairs of segments that share a cell of the index.
+	 * Produces the same set of points as compute().
+	 * 
+	 * @param index -- a grid index containing (at least) the given segments
+	 */
+	public static Set<Point> computePairwise(PointDatabase givenPoints, List<Segment> givenSegments, UniformGridIndex index) 
+	{
+		Set<Point> implicitPoints = new LinkedHashSet<Point>();
+		Set<Segment> visited = new HashSet<Segment>();
+		double[] crossing = new double[2];
+
+		for (Segment segment : givenSegments)
+		{
+			visited.add(segment);
+
+			for (Segment neighbor : index.segmentsNear(segment))
+			{
+				//each pair is examined once
+				if (visited.contains(neighbor)) continue;
+
+				if (IntersectionDelegate.segmentIntersection(segment, neighbor, crossing))
+				{
+					addImplicitPoint(givenPoints, new Point(crossing[0], crossing[1]), implicitPoints);
+				}
+			}
+		}
+		return implicitPoints;
+	}
+
+	/**
+	 * Names an intersection point and records it as implicit.
+	 */
+	private static void addImplicitPoint(PointDatabase givenPoints, Point impPoint, Set<Point> implicitPoints)
+	{
+		//puts into givenPoints because it is a PointNamingFactory
+		//and will therefore give the implied point a name
+		givenPoints.put(impPoint);
+		
+		try {
+			//adds the named implicit point to the set of only implicit points
+			implicitPoints.add(givenPoints.getPoint(impPoint));
+		} catch (NotInDatabaseException e) {
+
+		} 
+	}
 }
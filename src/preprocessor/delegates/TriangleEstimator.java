@@ -0,0 +1,70 @@
+package preprocessor.delegates;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Estimates the number of triangles of a VertexAdjacency within a time budget, for figures
+ * too large to enumerate interactively.
+ *
+ * Each triangle lies on exactly one out-list entry (the side from its lowest vertex to the
+ * next), so the triangle count is a sum over the entries. Entries are sampled without
+ * replacement, in random order, until the budget is spent; the count on each is found as in
+ * enumeration (by popcount in a BitsetAdjacency) but no triangle is constructed. Sampling
+ * every entry gives the exact count.
+ */
+public class TriangleEstimator
+{
+	// Entries sampled between reads of the clock (and at least, whatever the budget)
+	private static final int BATCH = 64;
+
+	protected VertexAdjacency _adjacency;
+	protected Random _random;
+
+	// The source vertex of each out-list entry
+	protected int[] _sources;
+
+	public TriangleEstimator(VertexAdjacency adjacency, long seed)
+	{
+		_adjacency = adjacency;
+		_random = new Random(seed);
+
+		_sources = new int[adjacency.edgeCount()];
+		for (int u = 0; u < adjacency.vertexCount(); u++)
+		{
+			for (int uv = adjacency.firstEdge(u); uv < adjacency.firstEdge(u + 1); uv++) _sources[uv] = u;
+		}
+	}
+
+	/**
+	 * @param budget -- the time to sample for (the adjacency is built beforehand)
+	 * @return the estimated number of triangles with its 95% confidence interval
+	 */
+	public CountEstimate estimate(Duration budget)
+	{
+		int population = _adjacency.edgeCount();
+		long deadline = System.nanoTime() + budget.toNanos();
+
+		// a random order of the entries: a Fisher-Yates shuffle, drawn as it goes
+		int[] entries = new int[population];
+		for (int e = 0; e < population; e++) entries[e] = e;
+
+		double sum = 0, sumOfSquares = 0;
+		int samples = 0;
+		while (samples < population)
+		{
+			if (samples % BATCH == 0 && samples > 0 && System.nanoTime() - deadline >= 0) break;
+
+			int pick = samples + _random.nextInt(population - samples);
+			int uv = entries[pick];
+			entries[pick] = entries[samples];
+			entries[samples++] = uv;
+
+			double count = _adjacency.countTrianglesOn(_sources[uv], uv);
+			sum += count;
+			sumOfSquares += count * count;
+		}
+
+		return population == 0 ? CountEstimate.exact(0) : CountEstimate.fromSample(sum, sumOfSquares, samples, population);
+	}
+}
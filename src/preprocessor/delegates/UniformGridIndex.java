@@ -0,0 +1,242 @@
+package preprocessor.delegates;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import utilities.math.MathUtilities;
+
+/**
+ * A bucketed, uniform grid over the plane of a figure.
+ *
+ * Points are stored in the cell containing them; segments are stored in every
+ * cell they cross. A segment then only needs to examine the contents of the cells
+ * it crosses rather than every point (or segment) of the figure.
+ *
+ * Cells are sized from the bounding box of the given segments so that a cell holds
+ * a constant number of points on average; cells are hashed, so points outside
+ * that box are still indexed.
+ */
+public class UniformGridIndex
+{
+	protected double _originX;
+	protected double _originY;
+	protected double _cellSize;
+
+	protected Map<Long, List<Point>> _pointCells;
+	protected Map<Long, List<Segment>> _segmentCells;
+
+	/**
+	 * @param segments -- the segments of the figure; these define the extent of the grid
+	 */
+	public UniformGridIndex(Collection<Segment> segments)
+	{
+		_pointCells = new HashMap<Long, List<Point>>();
+		_segmentCells = new HashMap<Long, List<Segment>>();
+
+		sizeCells(segments);
+
+		for (Segment segment : segments) add(segment);
+	}
+
+	/**
+	 * @param points -- points of the figure
+	 * @param segments -- the segments of the figure; these define the extent of the grid
+	 */
+	public UniformGridIndex(Collection<Point> points, Collection<Segment> segments)
+	{
+		this(segments);
+
+		for (Point point : points) add(point);
+	}
+
+	private void sizeCells(Collection<Segment> segments)
+	{
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+		for (Segment segment : segments)
+		{
+			for (Point pt : new Point[] { segment.getPoint1(), segment.getPoint2() })
+			{
+				minX = Math.min(minX, pt.getX());
+				minY = Math.min(minY, pt.getY());
+				maxX = Math.max(maxX, pt.getX());
+				maxY = Math.max(maxY, pt.getY());
+			}
+		}
+
+		if (segments.isEmpty())
+		{
+			minX = minY = maxX = maxY = 0;
+		}
+
+		double width = maxX - minX;
+		double height = maxY - minY;
+		int count = Math.max(1, segments.size());
+
+		_originX = minX;
+		_originY = minY;
+
+		// Roughly one segment endpoint per cell
+		_cellSize = width * height > 0 ? Math.sqrt(width * height / count) : Math.max(width, height) / count;
+
+		if (!(_cellSize > MathUtilities.EPSILON)) _cellSize = 1;
+	}
+
+	/**
+	 * @param pt -- a point to index
+	 */
+	public void add(Point pt)
+	{
+		long key = key(column(pt.getX()), row(pt.getY()));
+
+		_pointCells.computeIfAbsent(key, k -> new ArrayList<Point>()).add(pt);
+	}
+
+	/**
+	 * @param segment -- a segment to index in each cell it crosses (within the tolerance of pointsNear)
+	 */
+	public void add(Segment segment)
+	{
+		forEachCell(segment, tolerance(segment),
+				    key -> _segmentCells.computeIfAbsent(key, k -> new ArrayList<Segment>()).add(segment));
+	}
+
+	/**
+	 * @param pt -- a previously indexed point
+	 */
+	public void remove(Point pt)
+	{
+		List<Point> cell = _pointCells.get(key(column(pt.getX()), row(pt.getY())));
+
+		if (cell != null) cell.remove(pt);
+	}
+
+	/**
+	 * @param segment -- a previously indexed segment
+	 */
+	public void remove(Segment segment)
+	{
+		forEachCell(segment, tolerance(segment), key ->
+		{
+			List<Segment> cell = _segmentCells.get(key);
+			if (cell != null) cell.remove(segment);
+		});
+	}
+
+	/**
+	 * @param pt -- a point
+	 * @return the indexed segments registered in the cell containing pt; these include
+	 *         every indexed segment passing through (or ending at) pt
+	 */
+	public Set<Segment> segmentsNear(Point pt)
+	{
+		List<Segment> cell = _segmentCells.get(key(column(pt.getX()), row(pt.getY())));
+
+		return cell == null ? new LinkedHashSet<Segment>() : new LinkedHashSet<Segment>(cell);
+	}
+
+	/**
+	 * The candidates include every indexed point that could satisfy
+	 * SegmentDelegate.pointLiesOnSegment for this segment; callers still test each one.
+	 *
+	 * @param segment -- a segment
+	 * @return the indexed points in the cells this segment crosses
+	 */
+	public List<Point> pointsNear(Segment segment)
+	{
+		List<Point> near = new ArrayList<Point>();
+
+		forEachCell(segment, tolerance(segment), key ->
+		{
+			List<Point> cell = _pointCells.get(key);
+			if (cell != null) near.addAll(cell);
+		});
+
+		return near;
+	}
+
+	/**
+	 * @param segment -- a segment
+	 * @return the indexed segments sharing a cell with this segment (this segment excluded)
+	 */
+	public Set<Segment> segmentsNear(Segment segment)
+	{
+		Set<Segment> near = new LinkedHashSet<Segment>();
+
+		forEachCell(segment, MathUtilities.EPSILON, key ->
+		{
+			List<Segment> cell = _segmentCells.get(key);
+			if (cell != null) near.addAll(cell);
+		});
+
+		near.remove(segment);
+
+		return near;
+	}
+
+	/*
+	 * GeometryUtilities.between accepts a point M when |AM| + |MB| is within EPSILON of |AB|;
+	 * a point at distance h from the middle of AB exceeds |AB| by about 2h^2 / |AB|.
+	 * Accepted points are therefore within sqrt(EPSILON * |AB|) of the segment.
+	 */
+	private static double tolerance(Segment segment)
+	{
+		double length = Math.hypot(segment.getPoint2().getX() - segment.getPoint1().getX(),
+				                   segment.getPoint2().getY() - segment.getPoint1().getY());
+
+		return Math.sqrt(MathUtilities.EPSILON * length) + MathUtilities.EPSILON;
+	}
+
+	/*
+	 * Visit each cell within @tolerance of the segment, column by column:
+	 * in each column only the rows spanned by the segment (plus tolerance) are visited.
+	 */
+	private void forEachCell(Segment segment, double tolerance, LongConsumer action)
+	{
+		Point left = segment.getPoint1();
+		Point right = segment.getPoint2();
+		if (left.getX() > right.getX())
+		{
+			left = segment.getPoint2();
+			right = segment.getPoint1();
+		}
+
+		double x1 = left.getX(), y1 = left.getY();
+		double x2 = right.getX(), y2 = right.getY();
+
+		for (int column = column(x1 - tolerance); column <= column(x2 + tolerance); column++)
+		{
+			double low = Math.max(x1, _originX + column * _cellSize - tolerance);
+			double high = Math.min(x2, _originX + (column + 1) * _cellSize + tolerance);
+
+			double yLow = Math.min(y1, y2), yHigh = Math.max(y1, y2);
+			if (x2 - x1 > 0 && low <= high)
+			{
+				double slope = (y2 - y1) / (x2 - x1);
+				double yA = y1 + (low - x1) * slope;
+				double yB = y1 + (high - x1) * slope;
+				yLow = Math.max(yLow, Math.min(yA, yB));
+				yHigh = Math.min(yHigh, Math.max(yA, yB));
+			}
+
+			for (int row = row(yLow - tolerance); row <= row(yHigh + tolerance); row++)
+			{
+				action.accept(key(column, row));
+			}
+		}
+	}
+
+	private int column(double x) { return (int)Math.floor((x - _originX) / _cellSize); }
+	private int row(double y) { return (int)Math.floor((y - _originY) / _cellSize); }
+
+	private static long key(int column, int row) { return ((long)column << 32) | (row & 0xffffffffL); }
+}
@@ -0,0 +1,401 @@
+package preprocessor.delegates;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointStore;
+
+/**
+ * The vertices of a set of segments (ids 0 .. vertexCount() - 1) with, for each vertex,
+ * the segments leaving it in degree order: a segment is kept only at the endpoint of lower
+ * degree (ties broken by id), so each segment appears once and no vertex has more than
+ * O(sqrt(S)) of them.
+ *
+ * A triangle uv, vw, uw then appears exactly once: at its lowest vertex u, as a vertex w
+ * common to the lists of u and of v. Enumerating all of them costs O(S sqrt(S)), proportional
+ * to the wedges examined, rather than the O(S^3) of trying every triple of segments.
+ *
+ * Each segment also carries a line id, shared by the collinear segments it meets at an
+ * endpoint, so a degenerate (collinear) triple is rejected by comparing two ints.
+ *
+ * Vertices are identified with Point equality (see PointStore). Figures that are nearly
+ * complete graphs are better served by BitsetAdjacency; of() chooses between the two.
+ */
+public class VertexAdjacency
+{
+	/*
+	 * Receives the three sides of a triangle
+	 */
+	public interface TriangleConsumer
+	{
+		void accept(Segment uv, Segment vw, Segment uw);
+	}
+
+	protected PointStore _vertices;
+
+	protected int[] _degrees;
+
+	// Out-lists of all vertices, one after another: those of vertex u are
+	// [_offsets[u], _offsets[u + 1]), sorted by target vertex
+	protected int[] _offsets;
+	protected int[] _targets;
+	protected Segment[] _segments;
+
+	// The line id of each out-list entry: equal for collinear segments sharing an endpoint
+	protected int[] _lines;
+
+	/**
+	 * @return the adjacency of the segments: a BitsetAdjacency if their density (see density())
+	 *         is at least BitsetAdjacency.DENSITY_THRESHOLD, otherwise a VertexAdjacency
+	 */
+	public static VertexAdjacency of(Collection<Segment> segments)
+	{
+		VertexAdjacency adjacency = new VertexAdjacency(segments);
+
+		return adjacency.density() < BitsetAdjacency.DENSITY_THRESHOLD ? adjacency : new BitsetAdjacency(adjacency);
+	}
+
+	public VertexAdjacency(Collection<Segment> segments)
+	{
+		_vertices = new PointStore(segments.size());
+
+		int[] from = new int[segments.size()];
+		int[] to = new int[segments.size()];
+		Segment[] edges = segments.toArray(new Segment[0]);
+
+		for (int e = 0; e < edges.length; e++)
+		{
+			from[e] = vertexOf(edges[e].getPoint1());
+			to[e] = vertexOf(edges[e].getPoint2());
+		}
+
+		int n = _vertices.idLimit();
+
+		_degrees = new int[n];
+		for (int e = 0; e < edges.length; e++)
+		{
+			if (from[e] == to[e]) continue;
+
+			_degrees[from[e]]++;
+			_degrees[to[e]]++;
+		}
+
+		// orient each segment away from its endpoint of lower degree
+		for (int e = 0; e < edges.length; e++)
+		{
+			if (precedes(to[e], from[e]))
+			{
+				int swap = from[e];
+				from[e] = to[e];
+				to[e] = swap;
+			}
+		}
+
+		_offsets = new int[n + 1];
+		for (int e = 0; e < edges.length; e++)
+		{
+			if (from[e] != to[e]) _offsets[from[e] + 1]++;
+		}
+		for (int u = 0; u < n; u++) _offsets[u + 1] += _offsets[u];
+
+		_targets = new int[_offsets[n]];
+		_segments = new Segment[_offsets[n]];
+
+		int[] next = Arrays.copyOf(_offsets, n);
+		for (int e = 0; e < edges.length; e++)
+		{
+			if (from[e] == to[e]) continue;
+
+			int slot = next[from[e]]++;
+			_targets[slot] = to[e];
+			_segments[slot] = edges[e];
+		}
+
+		for (int u = 0; u < n; u++) sortOutList(_offsets[u], _offsets[u + 1]);
+
+		computeLines();
+	}
+
+	/*
+	 * Shares the vertices, out-lists and lines of @that (a view in another mode)
+	 */
+	protected VertexAdjacency(VertexAdjacency that)
+	{
+		_vertices = that._vertices;
+		_degrees = that._degrees;
+		_offsets = that._offsets;
+		_targets = that._targets;
+		_segments = that._segments;
+		_lines = that._lines;
+	}
+
+	private int vertexOf(Point pt)
+	{
+		int id = _vertices.find(pt.getX(), pt.getY());
+
+		return id != PointStore.NONE ? id : _vertices.add(pt);
+	}
+
+	/*
+	 * The degree order: by degree, then by id
+	 */
+	private boolean precedes(int u, int v)
+	{
+		return _degrees[u] < _degrees[v] || (_degrees[u] == _degrees[v] && u < v);
+	}
+
+	/*
+	 * Insertion sort by target (out-lists are short: at most O(sqrt(S)))
+	 */
+	private void sortOutList(int from, int to)
+	{
+		for (int i = from + 1; i < to; i++)
+		{
+			int target = _targets[i];
+			Segment segment = _segments[i];
+
+			int j = i - 1;
+			for ( ; j >= from && _targets[j] > target; j--)
+			{
+				_targets[j + 1] = _targets[j];
+				_segments[j + 1] = _segments[j];
+			}
+			_targets[j + 1] = target;
+			_segments[j + 1] = segment;
+		}
+	}
+
+	/*
+	 * Line ids: at each vertex, the incident segments sorted by direction (modulo pi) place
+	 * collinear segments next to one another; consecutive collinear segments are united.
+	 */
+	private void computeLines()
+	{
+		int edges = _targets.length;
+
+		int[] sources = new int[edges];
+		for (int u = 0; u < vertexCount(); u++)
+		{
+			Arrays.fill(sources, _offsets[u], _offsets[u + 1], u);
+		}
+
+		double[] directions = new double[edges];
+		for (int e = 0; e < edges; e++)
+		{
+			Point from = vertex(sources[e]), to = vertex(_targets[e]);
+			double direction = Math.atan2(to.getY() - from.getY(), to.getX() - from.getX());
+
+			directions[e] = direction < 0 ? direction + Math.PI : direction;
+		}
+		int[] byDirection = order(directions);
+
+		// the segments at each vertex, in direction order
+		int[] starts = new int[vertexCount() + 1];
+		for (int u = 0; u < vertexCount(); u++) starts[u + 1] = starts[u] + _degrees[u];
+
+		int[] incident = new int[2 * edges];
+		int[] next = Arrays.copyOf(starts, vertexCount());
+		for (int e : byDirection)
+		{
+			incident[next[sources[e]]++] = e;
+			incident[next[_targets[e]]++] = e;
+		}
+
+		_lines = new int[edges];
+		for (int e = 0; e < edges; e++) _lines[e] = e;
+
+		for (int u = 0; u < vertexCount(); u++)
+		{
+			int from = starts[u], to = starts[u + 1];
+
+			for (int k = from + 1; k < to; k++) uniteIfCollinear(incident[k - 1], incident[k]);
+
+			// directions near pi wrap around to those near 0
+			if (to - from > 2) uniteIfCollinear(incident[to - 1], incident[from]);
+		}
+
+		for (int e = 0; e < edges; e++) _lines[e] = line(e);
+	}
+
+	/*
+	 * @return the indices of @keys in increasing order of key (ties in increasing order of index),
+	 *         sorted without boxing: by the rank of each key, packed above its index in a long
+	 */
+	static int[] order(double[] keys)
+	{
+		double[] sorted = keys.clone();
+		Arrays.sort(sorted);
+
+		long[] packed = new long[keys.length];
+		for (int i = 0; i < keys.length; i++)
+		{
+			packed[i] = (long) Arrays.binarySearch(sorted, keys[i]) << 32 | i;
+		}
+		Arrays.sort(packed);
+
+		int[] order = new int[keys.length];
+		for (int i = 0; i < keys.length; i++) order[i] = (int) packed[i];
+		return order;
+	}
+
+	private void uniteIfCollinear(int e, int f)
+	{
+		if (!_segments[e].isCollinearWith(_segments[f])) return;
+
+		int rootE = line(e), rootF = line(f);
+		if (rootE != rootF) _lines[Math.max(rootE, rootF)] = Math.min(rootE, rootF);
+	}
+
+	// Union-find over _lines (path halving)
+	private int line(int e)
+	{
+		while (_lines[e] != e)
+		{
+			_lines[e] = _lines[_lines[e]];
+			e = _lines[e];
+		}
+		return e;
+	}
+
+	public int vertexCount() { return _degrees.length; }
+
+	public int edgeCount() { return _targets.length; }
+
+	/**
+	 * @return the fraction of the vertex pairs joined by a segment
+	 */
+	public double density()
+	{
+		double pairs = vertexCount() * (vertexCount() - 1.0) / 2;
+
+		return pairs == 0 ? 0 : edgeCount() / pairs;
+	}
+
+	public Point vertex(int id) { return _vertices.point(id); }
+
+	public int degree(int id) { return _degrees[id]; }
+
+	/**
+	 * @return the number of out-list entries of the vertices in [fromVertex, toVertex):
+	 *         a measure of the work of enumerating their triangles
+	 */
+	public int edgeCount(int fromVertex, int toVertex) { return _offsets[toVertex] - _offsets[fromVertex]; }
+
+	/**
+	 * @return the first out-list entry of @vertex: its entries are [firstEdge(vertex), firstEdge(vertex + 1))
+	 *         (vertexCount() is allowed, for the end of the last vertex)
+	 */
+	public int firstEdge(int vertex) { return _offsets[vertex]; }
+
+	/**
+	 * @return a vertex in (fromVertex, toVertex) splitting the range into two of about the
+	 *         same edgeCount (for dividing enumeration among tasks); fromVertex if the range
+	 *         has a single vertex
+	 */
+	public int splitVertex(int fromVertex, int toVertex)
+	{
+		if (toVertex - fromVertex < 2) return fromVertex;
+
+		int half = _offsets[fromVertex] + edgeCount(fromVertex, toVertex) / 2;
+
+		int index = Arrays.binarySearch(_offsets, fromVertex + 1, toVertex, half);
+		int split = index >= 0 ? index : -index - 1;
+
+		return Math.min(Math.max(split, fromVertex + 1), toVertex - 1);
+	}
+
+	/**
+	 * Hands every triangle (three segments pairwise sharing three distinct, non-collinear
+	 * endpoints) to the consumer exactly once.
+	 */
+	public void forEachTriangle(TriangleConsumer consumer)
+	{
+		forEachTriangle(0, vertexCount(), consumer);
+	}
+
+	/**
+	 * As forEachTriangle(TriangleConsumer), restricted to the triangles whose lowest vertex
+	 * (in degree order) lies in [fromVertex, toVertex); disjoint ranges see disjoint triangles.
+	 */
+	public void forEachTriangle(int fromVertex, int toVertex, TriangleConsumer consumer)
+	{
+		for (int u = fromVertex; u < toVertex; u++)
+		{
+			for (int uv = _offsets[u]; uv < _offsets[u + 1]; uv++) forEachTriangleOn(u, uv, consumer);
+		}
+	}
+
+	/**
+	 * As forEachTriangle(TriangleConsumer), restricted to the triangles whose lowest vertex is
+	 * @u and whose side uv is the out-list entry @uv of u (at most degree(u) triangles)
+	 */
+	public void forEachTriangleOn(int u, int uv, TriangleConsumer consumer)
+	{
+		merge(u, uv, consumer);
+	}
+
+	/*
+	 * The triangles on the out-list entry uv of u: the vertices common to the out-lists of u
+	 * and v, less those on the line of uv. Hands them to @consumer unless it is null.
+	 * @return the number of triangles
+	 */
+	private int merge(int u, int uv, TriangleConsumer consumer)
+	{
+		int count = 0;
+		int v = _targets[uv];
+
+		// merge the (sorted) out-lists of u and v
+		int i = _offsets[u], uEnd = _offsets[u + 1];
+		int j = _offsets[v], vEnd = _offsets[v + 1];
+		while (i < uEnd && j < vEnd)
+		{
+			if (_targets[i] < _targets[j]) i++;
+			else if (_targets[i] > _targets[j]) j++;
+			else
+			{
+				if (_lines[uv] != _lines[i])
+				{
+					count++;
+					if (consumer != null) consumer.accept(_segments[uv], _segments[j], _segments[i]);
+				}
+				i++;
+				j++;
+			}
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return the number of triangles forEachTriangle() hands out
+	 */
+	public long countTriangles()
+	{
+		return countTriangles(0, vertexCount());
+	}
+
+	/**
+	 * @return the number of triangles forEachTriangle(fromVertex, toVertex, ...) hands out
+	 */
+	public long countTriangles(int fromVertex, int toVertex)
+	{
+		long count = 0;
+
+		for (int u = fromVertex; u < toVertex; u++)
+		{
+			for (int uv = _offsets[u]; uv < _offsets[u + 1]; uv++) count += countTrianglesOn(u, uv);
+		}
+
+		return count;
+	}
+
+	/**
+	 * @return the number of triangles forEachTriangleOn(u, uv, ...) hands out
+	 */
+	public int countTrianglesOn(int u, int uv)
+	{
+		return merge(u, uv, null);
+	}
+}
@@ -0,0 +1,173 @@
+package preprocessor.delegates;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+
+/**
+ * The segments at each vertex of a VertexAdjacency, grouped into rays: the segments leaving
+ * the vertex in the same direction (Segment.overlaysAsRay). At A below, AB, AC and AD are one
+ * ray and AE, AF another.
+ *
+ *    A-------B----C-----------D
+ *     \
+ *      E------F
+ *
+ * Two segments at a vertex form an angle exactly when they lie on different rays, and the
+ * angles on the same two rays are one angle equivalence class (see AngleEquivalenceClasses).
+ * So with s_1, ..., s_r the ray sizes at a vertex, it has C(r, 2) classes and the sum of
+ * s_i * s_j (i < j) angles: both are counted without constructing any Angle.
+ *
+ * Rays are numbered 0 .. rayCount() - 1, those of vertex u being [firstRay(u), firstRay(u + 1))
+ * in counterclockwise order.
+ */
+public class VertexRays
+{
+	protected VertexAdjacency _adjacency;
+
+	// The rays of vertex u are [_vertexRays[u], _vertexRays[u + 1])
+	protected int[] _vertexRays;
+
+	// The segments of ray r are _segments[_raySegments[r] .. _raySegments[r + 1])
+	protected int[] _raySegments;
+	protected Segment[] _segments;
+
+	public VertexRays(Collection<Segment> segments)
+	{
+		this(new VertexAdjacency(segments));
+	}
+
+	public VertexRays(VertexAdjacency adjacency)
+	{
+		_adjacency = adjacency;
+
+		int vertices = adjacency.vertexCount();
+		int edges = adjacency.edgeCount();
+
+		// incidence i is out-list entry i / 2, seen from its source (i even) or target (i odd)
+		int[] sources = new int[edges];
+		for (int u = 0; u < vertices; u++)
+		{
+			Arrays.fill(sources, adjacency.firstEdge(u), adjacency.firstEdge(u + 1), u);
+		}
+
+		int[] at = new int[2 * edges];
+		double[] directions = new double[2 * edges];
+		for (int i = 0; i < 2 * edges; i++)
+		{
+			int from = i % 2 == 0 ? sources[i / 2] : adjacency._targets[i / 2];
+			int to = i % 2 == 0 ? adjacency._targets[i / 2] : sources[i / 2];
+			Point vertex = adjacency.vertex(from), other = adjacency.vertex(to);
+
+			at[i] = from;
+			directions[i] = Math.atan2(other.getY() - vertex.getY(), other.getX() - vertex.getX());
+		}
+		int[] byDirection = VertexAdjacency.order(directions);
+
+		// the segments at each vertex, in direction order
+		int[] starts = new int[vertices + 1];
+		for (int u = 0; u < vertices; u++) starts[u + 1] = starts[u] + adjacency.degree(u);
+
+		_segments = new Segment[2 * edges];
+		int[] next = Arrays.copyOf(starts, vertices);
+		for (int i : byDirection) _segments[next[at[i]]++] = adjacency._segments[i / 2];
+
+		// a ray begins at each segment not on the ray of the one before it
+		_vertexRays = new int[vertices + 1];
+		int[] raySegments = new int[2 * edges + 1];
+		int rays = 0;
+		for (int u = 0; u < vertices; u++)
+		{
+			_vertexRays[u] = rays;
+
+			int from = starts[u], to = starts[u + 1];
+			if (from == to) continue;
+
+			// directions near -pi continue those near pi: begin with the ray they share
+			int first = from;
+			while (first < to && Segment.overlaysAsRay(_segments[first], _segments[to - 1])) first++;
+			if (first == to) first = from;
+			rotate(from, first, to);
+
+			raySegments[rays++] = from;
+			for (int k = from + 1; k < to; k++)
+			{
+				if (!Segment.overlaysAsRay(_segments[k - 1], _segments[k])) raySegments[rays++] = k;
+			}
+		}
+		_vertexRays[vertices] = rays;
+		raySegments[rays] = 2 * edges;
+
+		_raySegments = Arrays.copyOf(raySegments, rays + 1);
+	}
+
+	/*
+	 * Rotates _segments[from .. to) so that _segments[middle] comes first
+	 */
+	private void rotate(int from, int middle, int to)
+	{
+		if (middle == from) return;
+
+		Segment[] rotated = new Segment[to - from];
+		System.arraycopy(_segments, middle, rotated, 0, to - middle);
+		System.arraycopy(_segments, from, rotated, to - middle, middle - from);
+		System.arraycopy(rotated, 0, _segments, from, rotated.length);
+	}
+
+	public VertexAdjacency getAdjacency() { return _adjacency; }
+
+	public int vertexCount() { return _adjacency.vertexCount(); }
+
+	public Point vertex(int id) { return _adjacency.vertex(id); }
+
+	public int rayCount() { return _raySegments.length - 1; }
+
+	public int firstRay(int vertex) { return _vertexRays[vertex]; }
+
+	public int raySize(int ray) { return _raySegments[ray + 1] - _raySegments[ray]; }
+
+	/**
+	 * @return segment @k of @ray (0 <= k < raySize(ray))
+	 */
+	public Segment segment(int ray, int k) { return _segments[_raySegments[ray] + k]; }
+
+	/**
+	 * @return the number of angles of the figure: pairs of segments on different rays of a vertex
+	 */
+	public long countAngles()
+	{
+		long angles = 0;
+
+		for (int u = 0; u < vertexCount(); u++)
+		{
+			long segments = 0, squares = 0;
+			for (int ray = firstRay(u); ray < firstRay(u + 1); ray++)
+			{
+				segments += raySize(ray);
+				squares += (long) raySize(ray) * raySize(ray);
+			}
+
+			angles += (segments * segments - squares) / 2;
+		}
+
+		return angles;
+	}
+
+	/**
+	 * @return the number of angle equivalence classes of the figure: pairs of rays of a vertex
+	 */
+	public long countAngleClasses()
+	{
+		long classes = 0;
+
+		for (int u = 0; u < vertexCount(); u++)
+		{
+			long rays = firstRay(u + 1) - firstRay(u);
+			classes += rays * (rays - 1) / 2;
+		}
+
+		return classes;
+	}
+}
@@ -0,0 +1,102 @@
+package preprocessor.delegates;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import geometry_objects.points.PointStore;
+
+/**
+ * Welds points that are equal within EPSILON (Point.equals) into one representative
+ * Point object, so later stages compare vertices by identity (Point.equals tests
+ * identity first).
+ *
+ * The representative of a point is the database object for it; points not in the database
+ * are clustered among themselves (the first one seen represents its cluster). Both lookups
+ * are hashed on a snapped grid (see PointStore), so welding n points is a single O(n) pass.
+ */
+public class VertexWelder
+{
+	protected PointDatabase _database;
+
+	// Clusters of the points that are not in the database
+	protected PointStore _foreign;
+
+	// The number of points replaced by a (different) representative object
+	protected int _welded;
+	public int getWelded() { return _welded; }
+
+	public VertexWelder(PointDatabase database)
+	{
+		_database = database;
+		_foreign = new PointStore();
+	}
+
+	/**
+	 * @return the representative object for @pt
+	 */
+	public Point weld(Point pt)
+	{
+		PointStore store = _database.getStore();
+		int id = store.find(pt.getX(), pt.getY());
+
+		Point representative;
+		if (id != PointStore.NONE) representative = store.point(id);
+		else
+		{
+			id = _foreign.find(pt.getX(), pt.getY());
+			representative = id != PointStore.NONE ? _foreign.point(id) : _foreign.point(_foreign.add(pt));
+		}
+
+		if (representative != pt) _welded++;
+
+		return representative;
+	}
+
+	/**
+	 * @return @segment with its endpoints welded (the same object if they already were);
+	 *         null if both endpoints weld to the same point
+	 */
+	public Segment weld(Segment segment)
+	{
+		Point p1 = weld(segment.getPoint1());
+		Point p2 = weld(segment.getPoint2());
+
+		if (p1 == p2) return null;
+
+		if (p1 == segment.getPoint1() && p2 == segment.getPoint2()) return segment;
+
+		return new Segment(p1, p2);
+	}
+
+	/**
+	 * @return the welded segments (in the given order); segments that weld to a single point,
+	 *         or to the same segment as an earlier one, are dropped
+	 */
+	public Set<Segment> weldSegments(Collection<Segment> segments)
+	{
+		Set<Segment> welded = new LinkedHashSet<Segment>();
+
+		for (Segment segment : segments)
+		{
+			Segment weldedSegment = weld(segment);
+			if (weldedSegment != null) welded.add(weldedSegment);
+		}
+		return welded;
+	}
+
+	/**
+	 * @return the representatives of the points (in the given order)
+	 */
+	public Set<Point> weldPoints(Collection<Point> points)
+	{
+		Set<Point> welded = new LinkedHashSet<Point>();
+
+		for (Point pt : points) welded.add(weld(pt));
+
+		return welded;
+	}
+}
@@ -0,0 +1,180 @@
+package utilities;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import utilities.eq_classes.ClassKey;
+
+/**
+ * A list of distinct elements (by equals) in insertion order, with constant-time contains
+ * and remove: each element is listed under a hashable key, and a lookup asks equals of the
+ * elements listed under the probe keys of the target only.
+ *
+ * By default the key is the element itself (hashCode must then agree with equals). Elements
+ * equal within a tolerance need keys that probe the neighbouring keys (see ClassKey, where
+ * the classes are those of equals). Null elements are not stored.
+ * @param <T>
+ */
+public class LinkedHashList<T> {
+	protected Node _head;
+	protected Node _tail;
+	protected int _size;
+
+	protected ClassKey<T> _keys;
+	protected Map<Object, List<Node>> _buckets;
+
+	/**
+	 * class structure for a doubly linked node, listed under the key of its item
+	 */
+	private class Node {
+		protected Node _previous;
+		protected Node _next;
+		protected T _item;
+		protected Object _key;
+
+		public Node(T item, Object key) {
+			_item = item;
+			_key = key;
+		}
+	}
+
+	public LinkedHashList() {
+		this(element -> element);
+	}
+
+	/**
+	 * @param keys: the keys elements are listed under
+	 */
+	public LinkedHashList(ClassKey<T> keys) {
+		_keys = keys;
+		_buckets = new HashMap<Object, List<Node>>();
+
+		_head = new Node(null, null);
+		_tail = new Node(null, null);
+		clear();
+	}
+
+	/**
+	 * @return true if LinkedHashList is empty; False otherwise
+	 */
+	public boolean isEmpty() {
+		return _size == 0;
+	}
+
+	/**
+	 * clears the LinkedHashList
+	 */
+	public void clear() {
+		_head._next = _tail;
+		_tail._previous = _head;
+		_buckets.clear();
+		_size = 0;
+	}
+
+	/**
+	 * hands each element, front to back, to the action
+	 * @param action
+	 */
+	public void forEach(Consumer<? super T> action) {
+		for(Node node = _head._next; node != _tail; node = node._next) {
+			action.accept(node._item);
+		}
+	}
+
+	/**
+	 * @return size of LinkedHashList
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Add element to back of LinkedHashList
+	 * @param element: element to be added
+	 * @return true if added; false if already in the list (or null)
+	 */
+	public boolean addToBack(T element) {
+		if(element == null || find(element) != null) return false;
+
+		Node node = new Node(element, _keys.keyOf(element));
+		_buckets.computeIfAbsent(node._key, key -> new ArrayList<Node>(1)).add(node);
+
+		node._previous = _tail._previous;
+		node._next = _tail;
+		_tail._previous._next = node;
+		_tail._previous = node;
+		_size++;
+
+		return true;
+	}
+
+	/**
+	 * @param target
+	 * @return true if target is in the list; False otherwise
+	 */
+	public boolean contains(T target) {
+		return target != null && find(target) != null;
+	}
+
+	/**
+	 * @param target: element to be removed
+	 * @return true if removed; False otherwise
+	 */
+	public boolean remove(T target) {
+		Node node = target == null ? null : find(target);
+		if(node == null) return false;
+
+		unlink(node);
+		return true;
+	}
+
+	/**
+	 * Removes the front element
+	 * @return the front element; null if the list is empty
+	 */
+	public T removeFirst() {
+		if(isEmpty()) return null;
+
+		Node first = _head._next;
+		unlink(first);
+		return first._item;
+	}
+
+	/*
+	 * @return the node of the element equal to target; null if none
+	 */
+	private Node find(T target) {
+		for(Object key : _keys.probeKeys(target)) {
+			List<Node> bucket = _buckets.get(key);
+			if(bucket == null) continue;
+
+			for(Node node : bucket) {
+				if(Objects.equals(node._item, target)) return node;
+			}
+		}
+		return null;
+	}
+
+	private void unlink(Node node) {
+		List<Node> bucket = _buckets.get(node._key);
+		bucket.remove(node);
+		if(bucket.isEmpty()) _buckets.remove(node._key);
+
+		node._previous._next = node._next;
+		node._next._previous = node._previous;
+		_size--;
+	}
+
+	/**
+	 * @return String version of LinkedHashList (as LinkedList)
+	 */
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		forEach(element -> s.append(element + ","));
+		return s.toString();
+	}
+}
@@ -0,0 +1,31 @@
+package utilities.eq_classes;
+import java.util.List;
+
+/**
+ * Hashable keys that narrow the classes an element may belong to (see EquivalenceClasses).
+ * A class is indexed under the key of its canonical; an element is looked up under each of
+ * its probe keys, and only the classes found there are asked whether it belongs.
+ *
+ * So keys need not be exact: elements equal within a tolerance (e.g., Point.equals) may have
+ * different keys, as long as the probe keys of every element include the key of each canonical
+ * it belongs with (as PointStore probes the neighbouring cells of a point).
+ *
+ * A LinkedHashList keys its elements the same way, the classes being those of equals.
+ * @param <T>
+ */
+@FunctionalInterface
+public interface ClassKey<T> {
+	/**
+	 * @param element
+	 * @return the key a class with canonical element is indexed under
+	 */
+	Object keyOf(T element);
+
+	/**
+	 * @param element
+	 * @return the keys of the classes element may belong to (by default, only its own key)
+	 */
+	default List<Object> probeKeys(T element) {
+		return List.of(keyOf(element));
+	}
+}
@@ -0,0 +1,182 @@
+package utilities.eq_classes;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Disjoint sets over the dense ids 0 .. size() - 1 (union-find, with path compression
+ * and union by rank): find, union and sameSet take near-constant amortized time.
+ *
+ * The members of each set are also linked in a cycle (spliced together by union), and the
+ * roots are kept in a list, so a set or all the roots are visited in time proportional to
+ * their number.
+ */
+public class DisjointSets {
+	protected int[] _parent;
+	protected int[] _rank;
+
+	// The next member of the set of each id (a cycle per set)
+	protected int[] _next;
+	protected int[] _setSize;
+
+	// The roots, and the position of each root in _roots (unused for other ids)
+	protected int[] _roots;
+	protected int[] _rootPosition;
+	protected int _rootCount;
+
+	protected int _size;
+
+	public DisjointSets() {
+		this(16);
+	}
+
+	/**
+	 * @param capacity: the number of ids expected
+	 */
+	public DisjointSets(int capacity) {
+		capacity = Math.max(capacity, 1);
+
+		_parent = new int[capacity];
+		_rank = new int[capacity];
+		_next = new int[capacity];
+		_setSize = new int[capacity];
+		_roots = new int[capacity];
+		_rootPosition = new int[capacity];
+	}
+
+	/**
+	 * @return number of ids
+	 */
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * @return number of sets
+	 */
+	public int setCount() {
+		return _rootCount;
+	}
+
+	/**
+	 * Adds a new id, in a set by itself
+	 * @return the id (the previous size())
+	 */
+	public int makeSet() {
+		if(_size == _parent.length) grow();
+
+		int id = _size++;
+		_parent[id] = id;
+		_next[id] = id;
+		_setSize[id] = 1;
+
+		_rootPosition[id] = _rootCount;
+		_roots[_rootCount++] = id;
+
+		return id;
+	}
+
+	private void grow() {
+		int capacity = 2 * _parent.length;
+
+		_parent = Arrays.copyOf(_parent, capacity);
+		_rank = Arrays.copyOf(_rank, capacity);
+		_next = Arrays.copyOf(_next, capacity);
+		_setSize = Arrays.copyOf(_setSize, capacity);
+		_roots = Arrays.copyOf(_roots, capacity);
+		_rootPosition = Arrays.copyOf(_rootPosition, capacity);
+	}
+
+	/**
+	 * @param id
+	 * @return the root of the set of id
+	 */
+	public int find(int id) {
+		int root = id;
+		while(_parent[root] != root) root = _parent[root];
+
+		// path compression
+		while(_parent[id] != root) {
+			int parent = _parent[id];
+			_parent[id] = root;
+			id = parent;
+		}
+
+		return root;
+	}
+
+	/**
+	 * @return true if ids a and b are in the same set
+	 */
+	public boolean sameSet(int a, int b) {
+		return find(a) == find(b);
+	}
+
+	/**
+	 * Merges the sets of ids a and b
+	 * @return the root of the merged set
+	 */
+	public int union(int a, int b) {
+		int rootA = find(a);
+		int rootB = find(b);
+		if(rootA == rootB) return rootA;
+
+		// union by rank: the shallower tree goes under the root of the deeper
+		if(_rank[rootA] < _rank[rootB]) {
+			int swap = rootA;
+			rootA = rootB;
+			rootB = swap;
+		}
+		if(_rank[rootA] == _rank[rootB]) _rank[rootA]++;
+
+		_parent[rootB] = rootA;
+		_setSize[rootA] += _setSize[rootB];
+		removeRoot(rootB);
+
+		// splice the two cycles into one
+		int next = _next[rootA];
+		_next[rootA] = _next[rootB];
+		_next[rootB] = next;
+
+		return rootA;
+	}
+
+	/*
+	 * Moves the last root into the position of root
+	 */
+	private void removeRoot(int root) {
+		int position = _rootPosition[root];
+		int last = _roots[--_rootCount];
+
+		_roots[position] = last;
+		_rootPosition[last] = position;
+	}
+
+	/**
+	 * @param id
+	 * @return number of ids in the set of id
+	 */
+	public int setSize(int id) {
+		return _setSize[find(id)];
+	}
+
+	/**
+	 * @param k: 0 <= k < setCount()
+	 * @return root k (in no particular order; a union may reorder the roots)
+	 */
+	public int root(int k) {
+		return _roots[k];
+	}
+
+	/**
+	 * hands each id of the set of id, id first, to the action
+	 * @param id
+	 * @param action
+	 */
+	public void forEachInSet(int id, IntConsumer action) {
+		int member = id;
+		do {
+			action.accept(member);
+			member = _next[member];
+		} while(member != id);
+	}
+}
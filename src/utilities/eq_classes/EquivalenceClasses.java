@@ -1,7 +1,10 @@
 package utilities.eq_classes;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * A list that store many equivalence classes
@@ -13,9 +16,26 @@ public class EquivalenceClasses<T> {
 	protected Comparator<T> _comparator;
 	protected List<LinkedEquivalenceClass<T>> _classes;
 
+	// Optional: hashable keys narrowing the classes an element may belong to
+	protected ClassKey<T> _keys;
+	// Indices in _classes of the classes indexed under each key (when _keys is given)
+	protected Map<Object, List<Integer>> _index;
+
 	public EquivalenceClasses(Comparator<T> comp) {
+		this(comp, null);
+	}
+
+	/**
+	 * @param comp: decides whether elements belong to the same class
+	 * @param keys: hashable keys of the classes (see ClassKey), so that only the classes found
+	 *              under the probe keys of an element are asked whether it belongs rather than
+	 *              every class; null to ask every class
+	 */
+	public EquivalenceClasses(Comparator<T> comp, ClassKey<T> keys) {
 		_comparator = comp;
 		_classes = new ArrayList<>();
+		_keys = keys;
+		_index = keys == null ? null : new HashMap<>();
 	}
 
 	/**
@@ -27,20 +47,72 @@ public class EquivalenceClasses<T> {
 	public boolean add(T element) {
 		int index = indexOfClass(element);
 		if(index > -1) {
-			_classes.get(index).add(element);
+			addToClass(index, element);
 			return false;
 		}
 
 		LinkedEquivalenceClass<T> equivalence = new LinkedEquivalenceClass<T>(_comparator);
 		
 		if(equivalence.add(element)) {//null test. False if element is null
-			_classes.add(equivalence);
+			addNewClass(equivalence);
 			return true;
 		}
 		
 		return false;
 	}
 
+	/**
+	 * Appends a (non-empty) class, indexing it under the key of its canonical
+	 * @param equivalence
+	 */
+	protected void addNewClass(LinkedEquivalenceClass<T> equivalence) {
+		_classes.add(equivalence);
+		indexClass(_classes.size() - 1);
+	}
+
+	/**
+	 * Adds element to the class at index; if it becomes the canonical, the class is
+	 * indexed under its key too
+	 * @param index
+	 * @param element
+	 */
+	protected void addToClass(int index, T element) {
+		LinkedEquivalenceClass<T> equivalence = _classes.get(index);
+		T canonical = equivalence.canonical();
+
+		equivalence.add(element);
+		if(equivalence.canonical() != canonical) indexClass(index);
+	}
+
+	/*
+	 * Indexes the class at index under the key of its canonical
+	 */
+	private void indexClass(int index) {
+		if(_keys == null) return;
+
+		List<Integer> indices = _index.computeIfAbsent(_keys.keyOf(_classes.get(index).canonical()), key -> new ArrayList<>(1));
+		if(!indices.contains(index)) indices.add(index);
+	}
+
+	/**
+	 * Adds a class built elsewhere (e.g., all at once rather than element by element)
+	 * @param equivalence: a non-empty class disjoint from the classes already here
+	 * @return true if added; false if the class is empty
+	 */
+	public boolean addClass(LinkedEquivalenceClass<T> equivalence) {
+		if(equivalence.isEmpty()) return false;
+
+		addNewClass(equivalence);
+		return true;
+	}
+
+	/**
+	 * @return the classes (read-only)
+	 */
+	public List<LinkedEquivalenceClass<T>> getClasses() {
+		return Collections.unmodifiableList(_classes);
+	}
+
 	/**
 	 * @param target
 	 * @return true if target is contained; false otherwise
@@ -79,6 +151,15 @@ public class EquivalenceClasses<T> {
 	 */
 	protected int indexOfClass(T element) {	
 		if(element == null) return -1;
+
+		if(_keys != null) {
+			for(Object key : _keys.probeKeys(element)) {
+				for(int index : _index.getOrDefault(key, List.of())) {
+					if(_classes.get(index).belongs(element)) return index;
+				}
+			}
+			return -1;
+		}
 		
 		for(int i = 0; i < _classes.size(); i++) {
 			if(_classes.get(i).belongs(element)) {
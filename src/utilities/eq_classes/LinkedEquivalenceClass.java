@@ -1,9 +1,14 @@
 package utilities.eq_classes;
 import java.util.Comparator;
-import utilities.LinkedList;
+import java.util.function.Consumer;
+
+import utilities.LinkedHashList;
 
 /**
  * A class that stores equivalent vales
+ * (the elements other than the canonical are kept in a LinkedHashList: membership tests,
+ * removal and promotion to canonical take constant time, given a hashCode agreeing with equals,
+ * or keys for elements equal within a tolerance: see newMemberList)
  * @author Jackson Tedesco, Tony Song, and Della Avent
  * @data 2/8/2024
  * @param <T>
@@ -13,13 +18,22 @@ public class LinkedEquivalenceClass<T>
 {
 	protected T _canonical;
 	protected Comparator<T> _comparator;
-	protected LinkedList<T> _rest;
+	protected LinkedHashList<T> _rest;
 	
 	public LinkedEquivalenceClass(Comparator<T> comp) 
 	{
 		_canonical = null;
 		_comparator = comp;
-		_rest = new LinkedList<T>();
+		_rest = newMemberList();
+	}
+	
+	/**
+	 * @return an empty list for the elements other than the canonical (by default, found by
+	 *         hashCode and equals)
+	 */
+	protected LinkedHashList<T> newMemberList()
+	{
+		return new LinkedHashList<T>();
 	}
 	
 	/**
@@ -30,6 +44,16 @@ public class LinkedEquivalenceClass<T>
 		return _canonical;
 	}
 	
+	/**
+	 * hands each element of the class, the canonical first, to the action
+	 * @param action
+	 */
+	public void forEachMember(Consumer<? super T> action)
+	{
+		if(_canonical != null) action.accept(_canonical);
+		_rest.forEach(action);
+	}
+	
 	/**
 	 * @return True if list is empty; False otherwise
 	 */
@@ -44,7 +68,7 @@ public class LinkedEquivalenceClass<T>
 	public void clear()
 	{
 		_canonical = null;
-		_rest = new LinkedList<T>();
+		_rest = newMemberList();
 	}
 	
 	/**
@@ -52,7 +76,7 @@ public class LinkedEquivalenceClass<T>
 	 */
 	public void clearNonCanonical()
 	{
-		_rest = new LinkedList<T>();
+		_rest = newMemberList();
 	}
 	
 	/**
@@ -84,9 +108,8 @@ public class LinkedEquivalenceClass<T>
 		
 		//if the element is not the canonical
 		if(!belongs(element)) return false;
-		if(contains(element)) return false;
-		_rest.addToBack(element);
-		return true;
+		if(_canonical.equals(element)) return false;
+		return _rest.addToBack(element);
 	}
 	
 	/**
@@ -141,10 +164,9 @@ public class LinkedEquivalenceClass<T>
 	{
 		if(isEmpty()) return false;
 		
-		//replaces the canonical with the first element in the LinkedList
+		//replaces the canonical with the first element in the LinkedHashList
 		if(size() > 1) {
-			_canonical = _rest.get(0);
-			_rest.remove(_canonical);
+			_canonical = _rest.removeFirst();
 			return true;
 		}
 		
@@ -175,7 +197,7 @@ public class LinkedEquivalenceClass<T>
 		if(_canonical.equals(element)) return false; 
 		
 		//no duplicates
-		if(contains(element)) _rest.remove(element);
+		_rest.remove(element);
 		
 		if(_canonical != null) _rest.addToBack(_canonical);
 		_canonical = element;
@@ -0,0 +1,243 @@
+package utilities.eq_classes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * EquivalenceClasses kept as disjoint sets (see DisjointSets) over dense ids given to the
+ * elements as they are added. Besides the classification of EquivalenceClasses (an element
+ * joins the class its key or the comparator puts it in), two classes can be merged (union),
+ * as when two facts are proven equivalent; find, sameClass and union take near-constant
+ * amortized time.
+ *
+ * Elements are found by hashCode and equals, so these must agree. The canonical of a class
+ * is its representative (find), which a union may change.
+ * @param <T>
+ */
+public class UnionFindEquivalenceClasses<T> extends EquivalenceClasses<T> {
+	protected DisjointSets _sets;
+
+	// The element of each id, and the id of each element
+	protected List<T> _elements;
+	protected Map<T, Integer> _ids;
+
+	public UnionFindEquivalenceClasses(Comparator<T> comp) {
+		this(comp, null);
+	}
+
+	/**
+	 * @param comp: decides whether elements belong to the same class
+	 * @param keys: hashable keys of the classes (see ClassKey); an element joins the class of
+	 *              an element indexed under one of its probe keys that comp finds equal to it;
+	 *              null to compare an added element with the canonical of each class
+	 */
+	public UnionFindEquivalenceClasses(Comparator<T> comp, ClassKey<T> keys) {
+		super(comp, keys);
+		_sets = new DisjointSets();
+		_elements = new ArrayList<>();
+		_ids = new HashMap<>();
+	}
+
+	/**
+	 * Adds element to the class it belongs to, or to a new class
+	 * @param element
+	 * @return true if a new class was made; False otherwise
+	 */
+	@Override
+	public boolean add(T element) {
+		if(element == null || _ids.containsKey(element)) return false;
+
+		int root = indexOfClass(element);
+		int id = newId(element);
+
+		if(root > -1) {
+			_sets.union(root, id);
+			return false;
+		}
+
+		indexId(element, id);
+		return true;
+	}
+
+	/*
+	 * Indexes id under the key of its element
+	 */
+	private void indexId(T element, int id) {
+		if(_keys != null) _index.computeIfAbsent(_keys.keyOf(element), key -> new ArrayList<>(1)).add(id);
+	}
+
+	private int newId(T element) {
+		int id = _sets.makeSet();
+		_elements.add(element);
+		_ids.put(element, id);
+		return id;
+	}
+
+	/**
+	 * Adds the elements of a class built elsewhere as one class
+	 * @param equivalence: a non-empty class disjoint from the classes already here
+	 * @return true if added; false if the class is empty
+	 */
+	@Override
+	public boolean addClass(LinkedEquivalenceClass<T> equivalence) {
+		if(equivalence.isEmpty()) return false;
+
+		T canonical = equivalence.canonical();
+		int root = newId(canonical);
+		indexId(canonical, root);
+
+		equivalence.forEachMember(element -> {
+			Integer id = _ids.get(element);
+			_sets.union(root, id == null ? newId(element) : id);
+		});
+
+		return true;
+	}
+
+	/**
+	 * Merges the classes of a and b (adding either if it is not here yet)
+	 * @return true if two classes were merged; False if a and b were in one class already
+	 */
+	public boolean union(T a, T b) {
+		if(a == null || b == null) return false;
+
+		add(a);
+		add(b);
+
+		int idA = _ids.get(a), idB = _ids.get(b);
+		if(_sets.sameSet(idA, idB)) return false;
+
+		_sets.union(idA, idB);
+		return true;
+	}
+
+	/**
+	 * @param element
+	 * @return the representative (canonical) of the class of element; null if not here
+	 */
+	public T find(T element) {
+		Integer id = element == null ? null : _ids.get(element);
+		if(id == null) return null;
+
+		return _elements.get(_sets.find(id));
+	}
+
+	/**
+	 * @return true if a and b are both here, in the same class; False otherwise
+	 */
+	public boolean sameClass(T a, T b) {
+		Integer idA = a == null ? null : _ids.get(a);
+		Integer idB = b == null ? null : _ids.get(b);
+		if(idA == null || idB == null) return false;
+
+		return _sets.sameSet(idA, idB);
+	}
+
+	/**
+	 * hands each element of the class of element, element first, to the action
+	 * @param element
+	 * @param action
+	 */
+	public void forEachMember(T element, Consumer<? super T> action) {
+		Integer id = element == null ? null : _ids.get(element);
+		if(id == null) return;
+
+		_sets.forEachInSet(id, member -> action.accept(_elements.get(member)));
+	}
+
+	/**
+	 * hands the representative of each class to the action
+	 * @param action
+	 */
+	public void forEachClass(Consumer<? super T> action) {
+		for(int k = 0; k < _sets.setCount(); k++) {
+			action.accept(_elements.get(_sets.root(k)));
+		}
+	}
+
+	/**
+	 * @return a copy of the classes (read-only), each with its representative as canonical
+	 */
+	@Override
+	public List<LinkedEquivalenceClass<T>> getClasses() {
+		List<LinkedEquivalenceClass<T>> classes = new ArrayList<>(numClasses());
+
+		forEachClass(representative -> {
+			LinkedEquivalenceClass<T> equivalence = new LinkedEquivalenceClass<T>(_comparator);
+			equivalence._canonical = representative;
+			forEachMember(representative, element -> {
+				if(element != representative) equivalence._rest.addToBack(element);
+			});
+			classes.add(equivalence);
+		});
+
+		return Collections.unmodifiableList(classes);
+	}
+
+	/**
+	 * @param target
+	 * @return true if target is contained; false otherwise
+	 */
+	@Override
+	public boolean contains(T target) {
+		return target != null && _ids.containsKey(target);
+	}
+
+	/**
+	 * @return number of elements
+	 */
+	@Override
+	public int size() {
+		return _elements.size();
+	}
+
+	/**
+	 * @return number of classes
+	 */
+	@Override
+	public int numClasses() {
+		return _sets.setCount();
+	}
+
+	/**
+	 * @param element
+	 * @return the root id of the class element belongs to; -1 if none
+	 */
+	@Override
+	protected int indexOfClass(T element) {
+		if(element == null) return -1;
+
+		if(_keys != null) {
+			for(Object key : _keys.probeKeys(element)) {
+				for(int id : _index.getOrDefault(key, List.of())) {
+					if(_comparator.compare(_elements.get(id), element) == 0) return _sets.find(id);
+				}
+			}
+			return -1;
+		}
+
+		for(int k = 0; k < _sets.setCount(); k++) {
+			int root = _sets.root(k);
+			if(_comparator.compare(_elements.get(root), element) == 0) return root;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return string version of the classes
+	 */
+	@Override
+	public String toString() {
+		StringBuilder s = new StringBuilder();
+		for(LinkedEquivalenceClass<T> equivalence : getClasses()) {
+			s.append(equivalence.toString() + "\n");
+		}
+
+		return s.toString();
+	}
+}
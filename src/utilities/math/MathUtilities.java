@@ -11,6 +11,9 @@ public class MathUtilities
     public static final double EPSILON_POWER = 6;
     public static final double EPSILON = Math.pow(10, -EPSILON_POWER); // 0.000001
 
+    // The scale of removeLessEpsilon (computed once: it is on the path of every Point.hashCode)
+    private static final double TRUNCATION_SCALE = Math.pow(10, EPSILON_POWER - 1);
+
     public static boolean doubleEquals(double a, double b)
     {
         return Math.abs(a - b) < EPSILON;
@@ -26,7 +29,7 @@ public class MathUtilities
      */
     public static double removeLessEpsilon(double x)
     {
-    	int value = (int)(x * Math.pow(10, EPSILON_POWER - 1));
-    	return value / Math.pow(10, EPSILON_POWER - 1);
+    	int value = (int)(x * TRUNCATION_SCALE);
+    	return value / TRUNCATION_SCALE;
     }
 }
@@ -0,0 +1,155 @@
+package utilities.math.analytic_geometry;
+
+import java.math.BigDecimal;
+
+import utilities.math.MathUtilities;
+
+/**
+ * Geometric predicates over raw coordinates using only cross and dot products:
+ * no square roots, divisions or allocation on the common path.
+ *
+ * Each predicate first evaluates a floating-point filter that settles the answer
+ * whenever the input is clearly away from the decision boundary; only inputs near
+ * the boundary fall back to a slower evaluation:
+ *
+ *    orientation                   exact sign (BigDecimal) of the cross product
+ *    between, strictlyBetween      GeometryUtilities.between (the epsilon definition)
+ *    sameSlope                     slope comparison as in Segment.slope()
+ *
+ * The epsilon predicates agree with the definitions they replace:
+ *
+ *    between(M, A, B)    |AM| + |MB| is within EPSILON of |AB|
+ *    sameSlope           slopes (dy / dx) within EPSILON; vertical directions have no slope
+ */
+public class GeometryPredicates
+{
+    private static final double EPSILON = MathUtilities.EPSILON;
+    private static final double EPSILON_SQUARED = EPSILON * EPSILON;
+
+    // Relative margin of the epsilon filters; inputs within it of a boundary use the definition
+    private static final double MARGIN = 1e-6;
+
+    // Error bound for the floating-point orientation determinant (Shewchuk's ccwerrboundA)
+    private static final double ORIENTATION_BOUND = (3.0 + 16.0 * Math.ulp(1.0) / 2) * Math.ulp(1.0) / 2;
+
+    /**
+     * @return 1 if A, B, C turn counterclockwise, -1 if clockwise, 0 if exactly collinear
+     */
+    public static int orientation(double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        double left = (bx - ax) * (cy - ay);
+        double right = (by - ay) * (cx - ax);
+        double determinant = left - right;
+
+        if (Math.abs(determinant) > ORIENTATION_BOUND * (Math.abs(left) + Math.abs(right)))
+        {
+            return determinant > 0 ? 1 : -1;
+        }
+
+        return exactOrientation(ax, ay, bx, by, cx, cy);
+    }
+
+    /**
+     * @return true if A, B, C lie exactly on one line
+     */
+    public static boolean collinear(double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        return orientation(ax, ay, bx, by, cx, cy) == 0;
+    }
+
+    /**
+     * Same answer as GeometryUtilities.between(M, A, B): M lies on segment AB, endpoints included.
+     *
+     * With v = B - A and w = M - A, t = (v . w) / |v| is the position of M along AB and
+     * h = |v x w| / |v| its distance from the line. The filter decides by the facts:
+     *     M beyond A (or B) by d:   |AM| + |MB| - |AB| >= 2d
+     *     M at distance h:          |AM| + |MB| - |AB| >= sqrt(|AB|^2 + 4h^2) - |AB|
+     *     0 < t < |AB|:             |AM| + |MB| - |AB| <= h^2 |AB| / (2 t (|AB| - t))
+     * each squared (as needed) to involve only |v|^2, v . w and v x w.
+     */
+    public static boolean between(double mx, double my, double ax, double ay, double bx, double by)
+    {
+        double vx = bx - ax, vy = by - ay;
+        double wx = mx - ax, wy = my - ay;
+
+        double lengthSquared = vx * vx + vy * vy;
+        double cross = vx * wy - vy * wx;
+        double crossSquared = cross * cross;
+
+        if (lengthSquared > 0)
+        {
+            // outside the band around the line holding the whole tolerance ellipse
+            double band = 4 * crossSquared - EPSILON_SQUARED * lengthSquared;
+            if (band > 0 && band * band > 4 * EPSILON_SQUARED * lengthSquared * lengthSquared * lengthSquared * (1 + MARGIN))
+            {
+                return false;
+            }
+
+            // beyond A or beyond B by at least EPSILON / 2
+            double dot = vx * wx + vy * wy;
+            double remaining = lengthSquared - dot;
+            double past = dot < 0 ? -dot : -remaining;
+            if (past > 0 && 4 * past * past > EPSILON_SQUARED * lengthSquared * (1 + MARGIN)) return false;
+
+            // well inside the tolerance ellipse
+            double inside = dot * remaining;
+            if (inside > 0 && crossSquared * crossSquared * lengthSquared < 4 * EPSILON_SQUARED * inside * inside * (1 - MARGIN))
+            {
+                return true;
+            }
+        }
+
+        return MathUtilities.doubleEquals(distance(ax, ay, mx, my) + distance(mx, my, bx, by), distance(ax, ay, bx, by));
+    }
+
+    /**
+     * Same answer as SegmentDelegate.pointLiesBetweenEndpoints: on segment AB, but neither endpoint.
+     */
+    public static boolean strictlyBetween(double mx, double my, double ax, double ay, double bx, double by)
+    {
+        if (MathUtilities.doubleEquals(mx, ax) && MathUtilities.doubleEquals(my, ay)) return false;
+        if (MathUtilities.doubleEquals(mx, bx) && MathUtilities.doubleEquals(my, by)) return false;
+
+        return between(mx, my, ax, ay, bx, by);
+    }
+
+    /**
+     * Same answer as comparing the slopes dy1 / dx1 and dy2 / dx2 within EPSILON,
+     * where a direction with |dx| < EPSILON is vertical (and matches nothing).
+     *
+     * |dy1 / dx1 - dy2 / dx2| < EPSILON  <=>  |dy1 dx2 - dy2 dx1| < EPSILON |dx1 dx2|
+     */
+    public static boolean sameSlope(double dx1, double dy1, double dx2, double dy2)
+    {
+        if (!(Math.abs(dx1) >= EPSILON) || !(Math.abs(dx2) >= EPSILON)) return false;
+
+        double cross = Math.abs(dy1 * dx2 - dy2 * dx1);
+        double bound = EPSILON * Math.abs(dx1 * dx2);
+
+        if (cross < bound * (1 - MARGIN)) return true;
+        if (cross > bound * (1 + MARGIN)) return false;
+
+        return MathUtilities.doubleEquals(dy1 / dx1, dy2 / dx2);
+    }
+
+    /*
+     * Evaluated exactly as GeometryUtilities.distance
+     */
+    private static double distance(double x1, double y1, double x2, double y2)
+    {
+        return Math.sqrt(Math.pow(x2 - x1, 2) + Math.pow(y2 - y1, 2));
+    }
+
+    /*
+     * Every double is a finite binary fraction, so BigDecimal arithmetic on them is exact.
+     */
+    private static int exactOrientation(double ax, double ay, double bx, double by, double cx, double cy)
+    {
+        BigDecimal x = new BigDecimal(ax), y = new BigDecimal(ay);
+
+        BigDecimal left = new BigDecimal(bx).subtract(x).multiply(new BigDecimal(cy).subtract(y));
+        BigDecimal right = new BigDecimal(by).subtract(y).multiply(new BigDecimal(cx).subtract(x));
+
+        return left.compareTo(right);
+    }
+}
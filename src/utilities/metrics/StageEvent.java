@@ -0,0 +1,32 @@
+package utilities.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event emitted for each pipeline stage; the event duration is the wall time.
+ * Enable with, e.g., -XX:StartFlightRecording or a JFR settings file naming geometry.Stage.
+ */
+@Name("geometry.Stage")
+@Label("Geometry Stage")
+@Category({ "Geometry", "Preprocessing" })
+@Description("One stage of figure preprocessing")
+class StageEvent extends Event
+{
+	@Label("Stage")
+	String stage;
+
+	@Label("Allocated")
+	@DataAmount
+	long allocatedBytes;
+
+	@Label("Input Size")
+	long inputSize;
+
+	@Label("Output Size")
+	long outputSize;
+}
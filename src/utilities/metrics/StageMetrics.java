@@ -0,0 +1,168 @@
+package utilities.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jdk.jfr.EventType;
+
+/**
+ * Per-stage timing and cardinality metrics for a pipeline (e.g., Preprocessor.analyze()).
+ *
+ *    StageMetrics.Timer timer = metrics.start("minimal segments", input.size());
+ *    ... stage ...
+ *    timer.stop(output.size());
+ *
+ * Each stage is recorded here (queryable) when metrics are enabled and emitted as a
+ * StageEvent when Flight Recorder is recording it. When neither is on, start() returns
+ * a shared timer that does nothing: no clock reads and no allocation.
+ *
+ * Metrics are off by default; enable them with setEnabled(true) or -Dgeometry.metrics=true.
+ */
+public class StageMetrics
+{
+	private static volatile boolean _enabled = Boolean.getBoolean("geometry.metrics");
+
+	public static void setEnabled(boolean enabled) { _enabled = enabled; }
+	public static boolean isEnabled() { return _enabled; }
+
+	// Whether Flight Recorder is recording StageEvents, asked without creating one
+	private static final EventType STAGE_EVENT = EventType.getEventType(StageEvent.class);
+
+	// Per-thread allocation counter (a HotSpot extension); null when unsupported
+	private static final com.sun.management.ThreadMXBean ALLOCATION = allocationCounter();
+
+	protected List<StageRecord> _stages;
+
+	public StageMetrics()
+	{
+		_stages = new ArrayList<StageRecord>();
+	}
+
+	/**
+	 * @param stage -- name of the stage
+	 * @param inputSize -- number of objects the stage consumes
+	 * @return a timer to stop when the stage completes
+	 */
+	public Timer start(String stage, long inputSize)
+	{
+		boolean record = _enabled;
+
+		if (!record && !STAGE_EVENT.isEnabled()) return Timer.NONE;
+
+		return new Timer(record ? this : null, new StageEvent(), stage, inputSize);
+	}
+
+	/**
+	 * @return the recorded stages in the order they completed
+	 */
+	public List<StageRecord> getStages() { return Collections.unmodifiableList(_stages); }
+
+	/**
+	 * @param stage -- name of a stage
+	 * @return the most recent record of the stage; null if it was not recorded
+	 */
+	public StageRecord getStage(String stage)
+	{
+		for (int index = _stages.size() - 1; index >= 0; index--)
+		{
+			if (_stages.get(index).stage().equals(stage)) return _stages.get(index);
+		}
+		return null;
+	}
+
+	/**
+	 * @return total wall time of the recorded stages
+	 */
+	public long totalNanos()
+	{
+		return _stages.stream().mapToLong(StageRecord::nanos).sum();
+	}
+
+	public void clear() { _stages.clear(); }
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+
+		for (StageRecord stage : _stages) sb.append(stage).append('\n');
+
+		return sb.toString();
+	}
+
+	private static long allocatedBytes()
+	{
+		return ALLOCATION == null ? -1 : ALLOCATION.getCurrentThreadAllocatedBytes();
+	}
+
+	private static com.sun.management.ThreadMXBean allocationCounter()
+	{
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+		if (!(threads instanceof com.sun.management.ThreadMXBean)) return null;
+
+		com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean)threads;
+
+		return counter.isThreadAllocatedMemorySupported() && counter.isThreadAllocatedMemoryEnabled() ? counter : null;
+	}
+
+	/**
+	 * A running stage; stop() completes it. Timers must be stopped on the thread that started them.
+	 */
+	public static class Timer
+	{
+		private static final Timer NONE = new Timer(null, null, null, 0);
+
+		private final StageMetrics _metrics;
+		private final StageEvent _event;
+		private final String _stage;
+		private final long _inputSize;
+		private final long _startNanos;
+		private final long _startBytes;
+
+		private Timer(StageMetrics metrics, StageEvent event, String stage, long inputSize)
+		{
+			_metrics = metrics;
+			_event = event;
+			_stage = stage;
+			_inputSize = inputSize;
+
+			if (event == null)
+			{
+				_startNanos = 0;
+				_startBytes = 0;
+				return;
+			}
+
+			_startBytes = allocatedBytes();
+			_startNanos = System.nanoTime();
+			event.begin();
+		}
+
+		/**
+		 * @param outputSize -- number of objects the stage produced
+		 */
+		public void stop(long outputSize)
+		{
+			if (_event == null) return;
+
+			long nanos = System.nanoTime() - _startNanos;
+			long bytes = _startBytes < 0 ? -1 : allocatedBytes() - _startBytes;
+
+			_event.end();
+			if (_event.shouldCommit())
+			{
+				_event.stage = _stage;
+				_event.allocatedBytes = bytes;
+				_event.inputSize = _inputSize;
+				_event.outputSize = outputSize;
+				_event.commit();
+			}
+
+			if (_metrics != null) _metrics._stages.add(new StageRecord(_stage, nanos, bytes, _inputSize, outputSize));
+		}
+	}
+}
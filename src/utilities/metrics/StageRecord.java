@@ -0,0 +1,22 @@
+package utilities.metrics;
+
+/**
+ * The measurements of one run of a pipeline stage.
+ *
+ * @param stage -- name of the stage
+ * @param nanos -- wall time
+ * @param allocatedBytes -- bytes allocated by the running thread; -1 if the JVM cannot tell
+ * @param inputSize -- number of objects the stage consumed
+ * @param outputSize -- number of objects the stage produced
+ */
+public record StageRecord(String stage, long nanos, long allocatedBytes, long inputSize, long outputSize)
+{
+	public double millis() { return nanos / 1e6; }
+
+	@Override
+	public String toString()
+	{
+		return String.format("%-24s %10.3f ms %14d B %10d in %10d out",
+				             stage, millis(), allocatedBytes, inputSize, outputSize);
+	}
+}
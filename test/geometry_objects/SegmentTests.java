@@ -10,6 +10,7 @@ import java.util.SortedSet;
 
 import org.junit.jupiter.api.Test;
 
+import geometry_objects.delegates.intersections.IntersectionDelegate;
 import geometry_objects.points.Point;
 import utilities.math.MathUtilities;
 /**
@@ -318,4 +319,28 @@ class SegmentTests {
 		Segment t6 = new Segment(new Point(0,0), new Point(0,3));
 		assertFalse(s.coincideWithoutOverlap(t6)); //perpendicular, but shared endpt
 	}
+
+	@Test
+	void testSegmentIntersectionIntoStorage() {
+		//    diagonals of a square cross at (2, 2)
+		Segment s = new Segment(new Point("A", 0,0), new Point("B", 4,4));
+		Segment t = new Segment(new Point("C", 0,4), new Point("D", 4,0));
+
+		double[] crossing = new double[2];
+		assertTrue(IntersectionDelegate.segmentIntersection(s, t, crossing));
+		assertEquals(new Point(2, 2), new Point(crossing[0], crossing[1]));
+		assertEquals(new Point(2, 2), s.segmentIntersection(t));
+
+		// crossing of vertical and sloped
+		Segment v = new Segment(new Point(1,-1), new Point(1,5));
+		assertTrue(IntersectionDelegate.segmentIntersection(s, v, crossing));
+		assertEquals(new Point(1, 1), new Point(crossing[0], crossing[1]));
+
+		// shared endpoint, disjoint, collinear overlapping and parallel: no crossing
+		assertFalse(IntersectionDelegate.segmentIntersection(s, new Segment(new Point(4,4), new Point(6,0)), crossing));
+		assertFalse(IntersectionDelegate.segmentIntersection(s, new Segment(new Point(5,0), new Point(6,-3)), crossing));
+		assertFalse(IntersectionDelegate.segmentIntersection(s, new Segment(new Point(1,1), new Point(6,6)), crossing));
+		assertFalse(IntersectionDelegate.segmentIntersection(s, new Segment(new Point(0,1), new Point(4,5)), crossing));
+		assertNull(s.segmentIntersection(new Segment(new Point(0,1), new Point(4,5))));
+	}
 }
@@ -3,11 +3,14 @@ package geometry_objects.angle;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
 import geometry_objects.Segment;
+import geometry_objects.angle.comparators.AngleStructureComparator;
 import geometry_objects.points.Point;
+import utilities.math.MathUtilities;
 
 public class AngleEquivalenceClassesTest {
     public Angle makeAngle(Point p0, Point p1, Point p2, Point p3) {
@@ -90,4 +93,122 @@ public class AngleEquivalenceClassesTest {
             }
         }
     }
+
+    @Test
+    void classKeyTest() {
+        AngleClassKey keys = new AngleClassKey();
+
+        Point A = new Point(0, 0);
+        Point B = new Point(1, 0);
+        Point C = new Point(3, 0);
+        Point D = new Point(0, 1);
+        Point E = new Point(0, 2.5);
+        Point F = new Point(1, 1);
+        Point G = new Point(2, 2);
+
+        Angle BAD = makeAngle(A, B, A, D);
+
+        // same vertex, with any rays in either order
+        assertEquals(keys.keyOf(BAD), keys.keyOf(makeAngle(A, C, A, E)));
+        assertEquals(keys.keyOf(BAD), keys.keyOf(makeAngle(A, E, A, B)));
+        assertEquals(keys.keyOf(BAD).hashCode(), keys.keyOf(makeAngle(A, E, A, C)).hashCode());
+        assertEquals(keys.keyOf(BAD), keys.keyOf(makeAngle(A, B, A, F)));
+        assertEquals(keys.keyOf(makeAngle(A, F, A, B)), keys.keyOf(makeAngle(A, C, A, G)));
+        assertTrue(keys.probeKeys(BAD).contains(keys.keyOf(BAD)));
+
+        // a vertex within epsilon, across a cell boundary: probed
+        Angle near = makeAngle(new Point(-3e-7, 0), B, new Point(-3e-7, 0), D);
+        assertNotEquals(keys.keyOf(BAD), keys.keyOf(near));
+        assertTrue(keys.probeKeys(near).contains(keys.keyOf(BAD)));
+
+        assertNotEquals(keys.keyOf(BAD), keys.keyOf(makeAngle(B, A, B, F)));
+    }
+
+    @Test
+    void nonIntegralTest() {
+        // the directions computed from two segments of one ray differ in their last bits,
+        // e.g. (-0.5999999999999999, 0.8) and (-0.6, 0.7999999999999999): still one class
+        Random random = new Random(23);
+        AngleStructureComparator comparator = new AngleStructureComparator();
+
+        for (int trial = 0; trial < 2000; trial++) {
+            Point V = new Point(decimal(random, 50), decimal(random, 50));
+            double dx = decimal(random, 5), dy = decimal(random, 5);
+            if (Math.abs(dx) < 0.5 && Math.abs(dy) < 0.5) continue;
+
+            Point P = new Point(round(V.getX() + 2 * dx), round(V.getY() + 2 * dy));
+            Point Q = new Point(round(V.getX() + 7 * dx), round(V.getY() + 7 * dy));
+            Point R = new Point(round(V.getX() - 3 * dy + dx), round(V.getY() + 3 * dx + dy));
+
+            AngleEquivalenceClasses aec = new AngleEquivalenceClasses();
+            Angle VPR = makeAngle(V, P, V, R);
+            Angle VQR = makeAngle(V, Q, V, R);
+
+            assertTrue(aec.add(VPR));
+            assertFalse(aec.add(VQR));
+            assertEquals(1, aec.numClasses());
+            assertTrue(aec.contains(VPR));
+            assertTrue(aec.contains(VQR));
+
+            // a vertex equal within epsilon: found exactly when the comparator puts it in the class
+            // (a steep ray turns the shift into a slope change past epsilon)
+            Point W = new Point(V.getX() + 3e-7, V.getY() - 3e-7);
+            Angle WQR = makeAngle(W, Q, W, R);
+            boolean comparable = comparator.compare(VPR, WQR) != AngleStructureComparator.STRUCTURALLY_INCOMPARABLE;
+
+            assertEquals(!comparable, aec.add(WQR));
+            assertEquals(comparable ? 1 : 2, aec.numClasses());
+        }
+
+        // Q is within epsilon of the line VP, but the short segment VQ is off its direction
+        // by about EPSILON / |VQ|: still the class of VPR, as the comparator says
+        Point V = new Point(0, 0);
+        Point P = new Point(0.005, 0);
+        Point Q = new Point(0.009, 9.9e-7);
+        Point R = new Point(0, 1);
+
+        Angle VPR = makeAngle(V, P, V, R);
+        Angle VQR = makeAngle(V, Q, V, R);
+        assertEquals(-1, comparator.compare(VPR, VQR));
+
+        AngleEquivalenceClasses aec = new AngleEquivalenceClasses();
+        assertTrue(aec.add(VPR));
+        assertFalse(aec.add(VQR));
+        assertEquals(1, aec.numClasses());
+        assertTrue(aec.contains(VQR));
+
+        // near-axis rays, down to segments much shorter than 1/32
+        for (int trial = 0; trial < 500; trial++) {
+            V = new Point(decimal(random, 50), decimal(random, 50));
+            double length = Math.pow(10, -1 - 2 * random.nextDouble());
+            double off = (1.8 * random.nextDouble() - 0.9) * MathUtilities.EPSILON;
+
+            if (random.nextBoolean()) {
+                P = new Point(V.getX() + length / 2, V.getY());
+                Q = new Point(V.getX() + length, V.getY() + off);
+            } else {
+                P = new Point(V.getX(), V.getY() + length / 2);
+                Q = new Point(V.getX() + off, V.getY() + length);
+            }
+            R = new Point(V.getX() - 1, V.getY() - 1);
+
+            aec = new AngleEquivalenceClasses();
+            VPR = makeAngle(V, P, V, R);
+            VQR = makeAngle(V, Q, V, R);
+            boolean comparable = comparator.compare(VPR, VQR) != AngleStructureComparator.STRUCTURALLY_INCOMPARABLE;
+
+            assertTrue(aec.add(VPR));
+            assertEquals(!comparable, aec.add(VQR));
+            assertEquals(comparable ? 1 : 2, aec.numClasses());
+            assertTrue(aec.contains(VQR));
+        }
+    }
+
+    private static double decimal(Random random, int bound) {
+        return random.nextInt(-10 * bound, 10 * bound + 1) / 10.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
 }
@@ -173,4 +173,52 @@ public class AngleLinkedEquivalenceClassTest {
         assertFalse(alec.contains(HGI));
         assertFalse(alec.contains(HGZ));
     }
+
+    @Test
+    void perturbedTest() {
+        AngleLinkedEquivalenceClass alec = new AngleLinkedEquivalenceClass();
+
+        Point A = new Point(0, 0);
+        Point B = new Point(1, 0);
+        Point C = new Point(2, 0);
+        Point D = new Point(0, 1);
+        Point E = new Point(0, 2);
+
+        // within EPSILON of C and E, across the truncation of Point.hashCode
+        Point C2 = new Point(2 - 3e-7, 0);
+        Point E2 = new Point(0, 2 - 3e-7);
+
+        // 1.024 is a boundary of the cells of AnglePointsKey too
+        Point R = new Point(1.024 + 3e-7, 0);
+        Point R2 = new Point(1.024 - 3e-7, 0);
+
+        Angle BAD = makeAngle(A, B, A, D);
+        Angle CAE = makeAngle(A, C, A, E);
+        Angle RAE = makeAngle(A, R, A, E);
+
+        Angle CAE2 = makeAngle(A, C2, A, E2);
+        Angle EAC2 = makeAngle(A, E2, A, C2);
+        Angle RAE2 = makeAngle(A, R2, A, E2);
+
+        assertEquals(CAE, CAE2);
+        assertNotEquals(CAE.hashCode(), CAE2.hashCode());
+
+        assertTrue(alec.add(BAD));
+        assertTrue(alec.add(CAE));
+        assertTrue(alec.add(RAE));
+
+        assertTrue(alec.contains(CAE2));
+        assertTrue(alec.contains(EAC2));
+        assertTrue(alec.contains(RAE2));
+
+        assertFalse(alec.add(CAE2));
+        assertFalse(alec.add(EAC2));
+        assertFalse(alec.add(RAE2));
+        assertEquals(3, alec.size());
+
+        assertTrue(alec.remove(EAC2));
+        assertFalse(alec.contains(CAE));
+        assertTrue(alec.remove(RAE2));
+        assertEquals(1, alec.size());
+    }
 }
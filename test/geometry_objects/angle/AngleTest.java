@@ -297,4 +297,21 @@ public class AngleTest {
         assertTrue(BAD.sameVertexAs(BAF));
         assertTrue(BAF.sameVertexAs(BAD));
     }
+
+    @Test
+    void hashCodeTest() {
+        Point A = new Point(0, 0);
+        Point B = new Point(1, 0);
+        Point C = new Point(2, 0);
+        Point D = new Point(0, 1);
+
+        Angle BAD = makeAngle(A, B, A, D);
+
+        // equal angles (rays in either order, points as other objects) hash alike
+        assertEquals(BAD, makeAngle(D, A, B, A));
+        assertEquals(BAD.hashCode(), makeAngle(D, A, B, A).hashCode());
+        assertEquals(BAD.hashCode(), makeAngle(new Point(0, 0), new Point(1, 0), new Point(0, 0), new Point(0, 1)).hashCode());
+
+        assertNotEquals(BAD.hashCode(), makeAngle(A, C, A, D).hashCode());
+    }
 }
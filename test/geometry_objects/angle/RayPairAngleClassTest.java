@@ -0,0 +1,87 @@
+package geometry_objects.angle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.FactException;
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+
+class RayPairAngleClassTest
+{
+	//
+	//    A-------B----C-----------D
+	//     \
+	//      E
+	//       \
+	//        F
+	//
+	private final Point A = new Point("A", 0, 0);
+	private final Point B = new Point("B", 8, 0);
+	private final Point C = new Point("C", 13, 0);
+	private final Point D = new Point("D", 25, 0);
+	private final Point E = new Point("E", 2, -2);
+	private final Point F = new Point("F", 4, -4);
+
+	private RayPairAngleClass build() throws FactException
+	{
+		Segment[] ray1 = { new Segment(A, C), new Segment(A, B), new Segment(A, D) };
+		Segment[] ray2 = { new Segment(A, F), new Segment(A, E) };
+
+		return new RayPairAngleClass(ray1, ray2);
+	}
+
+	@Test
+	void test_lazy() throws FactException
+	{
+		RayPairAngleClass angles = build();
+
+		assertEquals(new Angle(new Segment(A, B), new Segment(A, E)), angles.canonical());
+		assertEquals(6, angles.size());
+
+		assertTrue(angles.contains(new Angle(new Segment(A, F), new Segment(A, D))));
+		assertTrue(angles.contains(new Angle(new Segment(A, C), new Segment(A, E))));
+		assertFalse(angles.contains(new Angle(new Segment(A, C), new Segment(A, new Point(6, -6)))));
+
+		List<Angle> members = new ArrayList<Angle>();
+		angles.forEachMember(members::add);
+		assertEquals(6, members.size());
+		assertEquals(angles.canonical(), members.get(0));
+
+		// adding a member already there changes nothing
+		assertFalse(angles.add(new Angle(new Segment(A, D), new Segment(A, E))));
+		assertEquals(6, angles.size());
+
+		// as with any AngleLinkedEquivalenceClass
+		AngleLinkedEquivalenceClass stored = new AngleLinkedEquivalenceClass();
+		members.forEach(stored::add);
+		assertEquals(stored.toString(), angles.toString());
+	}
+
+	@Test
+	void test_changes() throws FactException
+	{
+		RayPairAngleClass angles = build();
+
+		// a new member (a point on a ray that no segment of the class reaches)
+		Angle far = new Angle(new Segment(A, new Point(6, -6)), new Segment(A, B));
+		assertTrue(angles.add(far));
+		assertEquals(7, angles.size());
+		assertTrue(angles.contains(far));
+
+		assertTrue(angles.remove(new Angle(new Segment(A, D), new Segment(A, F))));
+		assertEquals(6, angles.size());
+
+		assertTrue(angles.removeCanonical());
+		assertEquals(5, angles.size());
+
+		angles.clear();
+		assertTrue(angles.isEmpty());
+	}
+}
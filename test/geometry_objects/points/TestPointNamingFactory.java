@@ -2,6 +2,7 @@ package geometry_objects.points;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
@@ -97,12 +98,12 @@ class TestPointNamingFactory {
 		System.out.println(factory);
 		
 		assertEquals("*_AA", factory.get(21, 21).getName());
-		assertEquals("*_AAA", factory.get(47, 47).getName());
+		assertEquals("*_BA", factory.get(47, 47).getName());
 		
-		assertEquals("*_BB", factory.get(22, 22).getName());
-		assertEquals("*_BBB", factory.get(48, 48).getName());
+		assertEquals("*_AB", factory.get(22, 22).getName());
+		assertEquals("*_BB", factory.get(48, 48).getName());
 		
-		assertEquals("*_ZZ", factory.get(46, 46).getName());
+		assertEquals("*_AZ", factory.get(46, 46).getName());
 		
 		assertThrows(NullPointerException.class, () -> { factory.put(null);});
 	}
@@ -139,4 +140,66 @@ class TestPointNamingFactory {
 		assertTrue(points.contains(new Point("Gella", 3, 4)));
 		assertEquals(3, points.size());
 	}
-}
\ No newline at end of file
+
+	@Test
+	void testEpsilonLookup() throws NotInDatabaseException {
+		PointNamingFactory factory = new PointNamingFactory();
+
+		// equal (within epsilon) to (1, 1), though on the other side of a truncation boundary
+		Point p1 = factory.put(new Point("P", 0.99999999, 1));
+
+		assertTrue(factory.contains(1, 1));
+		assertSame(p1, factory.get(1, 1));
+		assertSame(p1, factory.put(new Point("Q", 1, 1)));
+		assertSame(p1, factory.put(1.0000001, 0.9999999));
+		assertEquals(1, factory.size());
+
+		assertTrue(factory.remove(new Point(1, 1)));
+		assertFalse(factory.contains(p1));
+	}
+
+	@Test
+	void testGeneratedNames() {
+		assertEquals("A", PointNamingFactory.generatedName(1));
+		assertEquals("Z", PointNamingFactory.generatedName(26));
+		assertEquals("AA", PointNamingFactory.generatedName(27));
+		assertEquals("AZ", PointNamingFactory.generatedName(52));
+		assertEquals("BA", PointNamingFactory.generatedName(53));
+		assertEquals("ZZ", PointNamingFactory.generatedName(702));
+		assertEquals("AAA", PointNamingFactory.generatedName(703));
+		assertEquals("NTP", PointNamingFactory.generatedName(10000));
+	}
+
+	@Test
+	void testPutAll() throws NotInDatabaseException {
+		List<Point> points = new LinkedList<>();
+		for(int i = 0; i < 10000; i++) {
+			points.add(new Point(i % 100, i / 100));
+		}
+		points.add(new Point("named", 0.5, 0.5));
+		points.add(new Point("*_A", 0.25, 0.25));
+
+		PointNamingFactory factory = new PointNamingFactory();
+		factory.putAll(points);
+		assertEquals(10002, factory.size());
+
+		// names are unique and short
+		Set<String> names = new HashSet<>();
+		for(Point pt: factory.getAllPoints()) {
+			assertTrue(names.add(pt.getName()));
+			assertTrue(pt.getName().length() <= 5);
+		}
+
+		assertEquals("*_A", factory.get(0, 0).getName());
+		assertEquals("*_NTP", factory.get(99, 99).getName());
+		assertEquals("named", factory.get(0.5, 0.5).getName());
+		assertEquals("*_NTQ", factory.get(0.25, 0.25).getName());
+
+		// the name index follows a rename (a generated name is replaced when the point is put again)
+		PointDatabase database = new PointDatabase(points.subList(0, 3));
+		assertEquals(new Point(0, 0), database.getPoint("*_A"));
+		database.put(new Point(0, 0));
+		assertNull(database.getPoint("*_A"));
+		assertEquals(new Point(0, 0), database.getPoint("*_D"));
+	}
+}
@@ -0,0 +1,145 @@
+package geometry_objects.points;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TestPointStore {
+
+	@Test
+	void addFindTest() {
+		PointStore store = new PointStore();
+
+		int a = store.add("A", 1, 2);
+		int b = store.add("B", 3, 4);
+
+		assertEquals(0, a);
+		assertEquals(1, b);
+		assertEquals(2, store.size());
+
+		assertEquals(a, store.find(1, 2));
+		assertEquals(b, store.find(3 + 1e-9, 4));
+		assertEquals(PointStore.NONE, store.find(1, 3));
+
+		assertEquals("B", store.name(b));
+		assertEquals(3, store.xs()[b]);
+		assertEquals(4, store.ys()[b]);
+	}
+
+	@Test
+	void viewTest() {
+		PointStore store = new PointStore();
+
+		Point given = new Point("G", 5, 5);
+		int g = store.add(given);
+		int h = store.add("H", 6, 6);
+
+		// an added object is its own view; others are created once
+		assertSame(given, store.point(g));
+		assertEquals(new Point("H", 6, 6), store.point(h));
+		assertEquals("H", store.point(h).getName());
+		assertSame(store.point(h), store.point(h));
+
+		assertEquals(List.of(given, store.point(h)), new ArrayList<Point>(store.asPoints()));
+		assertTrue(store.asPoints().contains(new Point(6, 6)));
+		assertFalse(store.asPoints().contains(new Point(7, 6)));
+	}
+
+	@Test
+	void removeTest() {
+		PointStore store = new PointStore();
+
+		int a = store.add("A", 0, 0);
+		int b = store.add("B", 1, 0);
+		int c = store.add("C", 2, 0);
+
+		assertTrue(store.remove(b));
+		assertFalse(store.remove(b));
+		assertFalse(store.isLive(b));
+		assertEquals(PointStore.NONE, store.find(1, 0));
+		assertEquals(2, store.size());
+
+		// ids are not reused
+		int d = store.add("D", 1, 0);
+		assertEquals(3, d);
+		assertEquals(d, store.find(1, 0));
+		assertEquals(a, store.find(0, 0));
+		assertEquals(c, store.find(2, 0));
+
+		assertEquals(List.of("A", "C", "D"), store.asPoints().stream().map(Point::getName).toList());
+
+		store.clear();
+		assertEquals(0, store.size());
+		assertEquals(PointStore.NONE, store.find(0, 0));
+	}
+
+	@Test
+	void matchesHashMapTest() {
+		// the store answers lookups as a map keyed on Point does, through growth and removals
+		PointStore store = new PointStore();
+		Map<Point, Integer> map = new LinkedHashMap<Point, Integer>();
+		Random random = new Random(11);
+
+		for (int i = 0; i < 5000; i++) {
+			double x = random.nextInt(60), y = random.nextInt(60);
+
+			if (random.nextInt(4) == 0) {
+				Integer id = map.remove(new Point(x, y));
+				assertEquals(id != null, store.remove(store.find(x, y)));
+			}
+			else if (!map.containsKey(new Point(x, y))) {
+				map.put(new Point(x, y), store.add("P" + i, x, y));
+			}
+		}
+
+		assertEquals(map.size(), store.size());
+		for (Map.Entry<Point, Integer> entry : map.entrySet()) {
+			assertEquals(entry.getValue(), store.find(entry.getKey().getX(), entry.getKey().getY()));
+		}
+		assertEquals(new ArrayList<Point>(map.keySet()), new ArrayList<Point>(store.asPoints()));
+	}
+
+	@Test
+	void toleranceTest() {
+		PointStore store = new PointStore();
+
+		// either side of a truncation boundary of Point.hashCode: equal points, different hash codes
+		int a = store.add("A", 0.99999999, 1);
+		assertNotEquals(new Point(0.99999999, 1).hashCode(), new Point(1, 1).hashCode());
+		assertEquals(a, store.find(1, 1));
+		assertEquals(a, store.find(1, 1.0000009));
+		assertEquals(PointStore.NONE, store.find(1.000002, 1));
+
+		// near a cell corner, from each side
+		int b = store.add("B", -1e-7, -1e-7);
+		assertEquals(b, store.find(5e-7, 5e-7));
+		assertEquals(b, store.find(-9e-7, 5e-7));
+		assertEquals(PointStore.NONE, store.find(1e-6, 1e-6));
+
+		// agrees with a scan for Point.equals (first added wins)
+		store = new PointStore();
+		Random random = new Random(5);
+		List<Point> added = new ArrayList<Point>();
+		for (int i = 0; i < 2000; i++) {
+			Point pt = new Point(random.nextInt(40) * 1.024e-3 + (random.nextInt(5) - 2) * 6e-7,
+					             random.nextInt(40) * 1.024e-3 + (random.nextInt(5) - 2) * 6e-7);
+			store.add(pt);
+			added.add(pt);
+		}
+		for (int i = 0; i < 2000; i++) {
+			Point query = new Point(random.nextInt(40) * 1.024e-3 + (random.nextInt(7) - 3) * 4e-7,
+					                random.nextInt(40) * 1.024e-3 + (random.nextInt(7) - 3) * 4e-7);
+			int expected = added.indexOf(query);
+
+			int found = store.find(query.getX(), query.getY());
+			if (expected == -1) assertEquals(PointStore.NONE, found);
+			else assertSame(added.get(expected), store.point(found));
+		}
+	}
+}
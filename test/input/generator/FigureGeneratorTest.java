@@ -0,0 +1,123 @@
+package input.generator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import components.FigureNode;
+import geometry_objects.Segment;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+import preprocessor.Preprocessor;
+
+class FigureGeneratorTest
+{
+	/*
+	 * Write the figure, read it back through the parser
+	 */
+	private Map.Entry<PointDatabase, Set<Segment>> roundTrip(FigureNode figure) throws Exception
+	{
+		Path file = Files.createTempFile("figure", ".json");
+		FigureGenerator.write(figure, file);
+
+		FigureNode parsed = InputFacade.extractFigure(file.toString());
+		Files.delete(file);
+
+		assertNotNull(parsed);
+		return InputFacade.toGeometryRepresentation(parsed);
+	}
+
+	@Test
+	void test_grid() throws Exception
+	{
+		Map.Entry<PointDatabase, Set<Segment>> grid = roundTrip(new FigureGenerator(1).grid(10));
+
+		assertEquals(100, grid.getKey().size());
+		assertEquals(2 * 10 * 9, grid.getValue().size());
+	}
+
+	@Test
+	void test_complete_graph() throws Exception
+	{
+		Map.Entry<PointDatabase, Set<Segment>> complete = roundTrip(new FigureGenerator(1).completeGraph(9));
+
+		assertEquals(9, complete.getKey().size());
+		assertEquals(9 * 8 / 2, complete.getValue().size());
+
+		// no three diagonals of a (near) regular 9-gon meet: C(9, 4) crossings,
+		// which the preprocessor adds to the point database
+		new Preprocessor(complete.getKey(), complete.getValue());
+		assertEquals(9 + 126, complete.getKey().size());
+	}
+
+	@Test
+	void test_fan() throws Exception
+	{
+		//  6 lines, 3 points per ray: 1 + 36 points, 36 segments
+		Map.Entry<PointDatabase, Set<Segment>> fan = roundTrip(new FigureGenerator(1).fan(6, 3));
+
+		assertEquals(37, fan.getKey().size());
+		assertEquals(36, fan.getValue().size());
+	}
+
+	@Test
+	void test_random_soup() throws Exception
+	{
+		FigureGenerator generator = new FigureGenerator(7);
+
+		Map.Entry<PointDatabase, Set<Segment>> sparse = roundTrip(generator.randomSoup(150, 0.02));
+		Map.Entry<PointDatabase, Set<Segment>> dense = roundTrip(generator.randomSoup(150, 0.4));
+
+		assertEquals(150, sparse.getValue().size());
+		assertEquals(150, dense.getValue().size());
+
+		// the preprocessor adds the crossings to the point database
+		int sparsePoints = sparse.getKey().size();
+		int densePoints = dense.getKey().size();
+		new Preprocessor(sparse.getKey(), sparse.getValue());
+		new Preprocessor(dense.getKey(), dense.getValue());
+
+		assertTrue(dense.getKey().size() - densePoints > 10 * (sparse.getKey().size() - sparsePoints));
+	}
+
+	@Test
+	void test_tiled() throws Exception
+	{
+		FigureNode star = InputFacade.extractFigure("star.json");
+		Map.Entry<PointDatabase, Set<Segment>> single = InputFacade.toGeometryRepresentation(star);
+		Map.Entry<PointDatabase, Set<Segment>> tiled = roundTrip(new FigureGenerator(1).tiled(star, 3, 2));
+
+		assertEquals(6 * single.getKey().size(), tiled.getKey().size());
+		assertEquals(6 * single.getValue().size(), tiled.getValue().size());
+	}
+
+	@Test
+	void test_reproducible()
+	{
+		assertEquals(FigureGenerator.toJSON(new FigureGenerator(3).randomSoup(50, 0.2)),
+				     FigureGenerator.toJSON(new FigureGenerator(3).randomSoup(50, 0.2)));
+		assertNotEquals(FigureGenerator.toJSON(new FigureGenerator(3).randomSoup(50, 0.2)),
+				        FigureGenerator.toJSON(new FigureGenerator(4).randomSoup(50, 0.2)));
+	}
+
+	@Test
+	void test_corpus() throws Exception
+	{
+		// the checked-in corpus is exactly what the generator produces for seed 1
+		for (Map.Entry<String, FigureNode> entry : new FigureGenerator(1).corpus().entrySet())
+		{
+			Path file = Path.of("generated", entry.getKey());
+
+			assertEquals(Files.readString(file), FigureGenerator.toJSON(entry.getValue()), file.toString());
+			assertNotNull(InputFacade.extractFigure(file.toString()));
+		}
+	}
+}
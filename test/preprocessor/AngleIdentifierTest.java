@@ -19,6 +19,7 @@ import geometry_objects.points.PointDatabase;
 import components.FigureNode;
 import input.components.exception.NotInDatabaseException;
 import input.InputFacade;
+import utilities.eq_classes.LinkedEquivalenceClass;
 
 /**
  * @author Dr. C Alvin, Della Avent, Ellie Johnson, Jack Roberts
@@ -452,4 +453,53 @@ class AngleIdentifierTest
 			assertTrue(computedAngles.contains(expected));
 		}
 	}
+
+	@Test
+	void test_counts() throws NotInDatabaseException
+	{
+		for (String fixture : List.of("arrow_pointing_right.json", "box_with_two_lines.json", "collinear_line_segments.json",
+				                      "crossing_symmetric_triangle.json", "divided_square.json", "equilateral_triange.json",
+				                      "four_point_star.json", "fully_connected_irregular_polygon.json", "grid.json",
+				                      "single_triangle.json", "square_four_interior_implied.json",
+				                      "square_four_interior_triangle.json", "star.json",
+				                      "triangle_with_three_triangles_inside.json", "triangle_with_two_lines.json",
+				                      "two_separate_triangles.json"))
+		{
+			init(fixture);
+
+			AngleIdentifier counter = new AngleIdentifier(_segments);
+			long angles = counter.countAngles();
+			long classes = counter.countAngleClasses();
+
+			AngleIdentifier angleIdentifier = new AngleIdentifier(_segments);
+			AngleEquivalenceClasses computedAngles = angleIdentifier.getAngles();
+			assertEquals(fixture, computedAngles.size(), angles);
+			assertEquals(fixture, computedAngles.numClasses(), classes);
+
+			// the same angles and classes as trying every pair of segments
+			AngleEquivalenceClasses reference = angleIdentifier.computeAnglesByPairs();
+			assertEquals(fixture, reference.size(), computedAngles.size());
+			assertEquals(fixture, reference.numClasses(), computedAngles.numClasses());
+			for (Segment ray1 : _segments.keySet())
+			{
+				for (Segment ray2 : _segments.keySet())
+				{
+					try { assertTrue(computedAngles.contains(new Angle(ray1, ray2)), fixture); }
+					catch (FactException e) { }
+				}
+			}
+
+			// class by class: the same canonical angle and members
+			for (LinkedEquivalenceClass<Angle> computed : computedAngles.getClasses())
+			{
+				LinkedEquivalenceClass<Angle> expected = reference.getClasses().stream()
+						.filter(c -> c.canonical().equals(computed.canonical())).findFirst().orElseThrow();
+
+				List<Angle> members = new ArrayList<Angle>();
+				computed.forEachMember(members::add);
+				assertEquals(fixture, expected.size(), members.size());
+				members.forEach(angle -> assertTrue(expected.contains(angle), fixture));
+			}
+		}
+	}
 }
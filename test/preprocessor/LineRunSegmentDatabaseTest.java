@@ -0,0 +1,110 @@
+package preprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import components.FigureNode;
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+
+class LineRunSegmentDatabaseTest
+{
+	private Preprocessor makePreProcessor(String json_filename, boolean compact)
+	{
+		FigureNode fig = InputFacade.extractFigure(json_filename);
+
+		Map.Entry<PointDatabase, Set<Segment>> pair = InputFacade.toGeometryRepresentation(fig);
+
+		return new Preprocessor(pair.getKey(), pair.getValue(), compact);
+	}
+
+	//    A----B-----C--D-----E----------F
+	@Test
+	void test_collinear_run()
+	{
+		Preprocessor pp = makePreProcessor("collinear_line_segments.json", true);
+		LineRunSegmentDatabase database = (LineRunSegmentDatabase)pp.getAllSegments();
+		PointDatabase points = pp._pointDatabase;
+
+		assertEquals(15, database.size());
+		assertEquals(10, pp._nonMinimalSegments.size());
+
+		Segment af = new Segment(points.getPoint("A"), points.getPoint("F"));
+		Segment bd = new Segment(points.getPoint("D"), points.getPoint("B"));
+		Segment cd = new Segment(points.getPoint("C"), points.getPoint("D"));
+
+		assertTrue(database.containsKey(af));
+		assertTrue(database.containsKey(bd));
+		assertEquals(bd, database.get(bd));
+		assertNull(database.get(new Segment(points.getPoint("A"), new Point(100, 100))));
+
+		assertTrue(database.hasSubSegment(af, bd));
+		assertTrue(database.hasSubSegment(bd, cd));
+		assertFalse(database.hasSubSegment(bd, af));
+
+		assertTrue(pp._nonMinimalSegments.contains(bd));
+		assertFalse(pp._nonMinimalSegments.contains(cd));
+	}
+
+	@Test
+	void test_same_as_materialized()
+	{
+		for (String json_filename : List.of("crossing_symmetric_triangle.json", "box_with_two_lines.json",
+				                            "star.json", "grid.json", "triangle_with_two_lines.json",
+				                            "fully_connected_irregular_polygon.json"))
+		{
+			Map<Segment, Segment> expected = makePreProcessor(json_filename, false).getAllSegments();
+			Map<Segment, Segment> compact = makePreProcessor(json_filename, true).getAllSegments();
+
+			assertEquals(expected.size(), compact.size());
+			assertEquals(expected.keySet(), new HashSet<Segment>(compact.keySet()));
+
+			for (Segment segment : expected.keySet()) assertTrue(compact.containsKey(segment));
+
+			assertEquals(new TriangleIdentifier(expected).getTriangles(),
+					     new TriangleIdentifier(compact).getTriangles());
+			assertEquals(new AngleIdentifier(expected).getAngles().numClasses(),
+					     new AngleIdentifier(compact).getAngles().numClasses());
+		}
+	}
+
+	@Test
+	void test_replace_runs()
+	{
+		Point a = new Point("A", 0, 0), b = new Point("B", 1, 0), c = new Point("C", 2, 0);
+		Point d = new Point("D", 0, 1), e = new Point("E", 0, 2);
+
+		LineRunSegmentDatabase database = new LineRunSegmentDatabase(List.of(List.of(a, b, c), List.of(a, d)));
+		Set<Segment> nonMinimal = database.nonMinimalSegments();
+		assertEquals(4, database.size());
+		assertEquals(1, nonMinimal.size());
+
+		// the run of AB goes; the other stays
+		database.removeRunsOf(List.of(new Segment(a, b), new Segment(d, e)));
+		assertEquals(1, database.size());
+		assertEquals(0, nonMinimal.size());
+		assertFalse(database.containsKey(new Segment(a, c)));
+		assertTrue(database.containsKey(new Segment(a, d)));
+		assertEquals(Set.of(new Segment(a, d)), new HashSet<Segment>(database.keySet()));
+
+		// a new run takes the free slot
+		database.addRuns(List.of(List.of(c, b, a)));
+		database.removeRunsOf(List.of(new Segment(a, d)));
+		database.addRuns(List.of(List.of(e, d, a)));
+		assertEquals(6, database.size());
+		assertEquals(2, nonMinimal.size());
+		assertEquals(Set.of(new Segment(a, c), new Segment(a, e)), new HashSet<Segment>(nonMinimal));
+		assertTrue(database.hasSubSegment(new Segment(e, a), new Segment(d, e)));
+	}
+}
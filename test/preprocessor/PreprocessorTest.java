@@ -1,9 +1,12 @@
 package preprocessor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -286,4 +289,121 @@ class PreprocessorTest
 			assertTrue(expectedNonMinimalSegments.contains(computedNonMinimalSegment));
 		}
 	}
-}
\ No newline at end of file
+
+	@Test
+	void test_nonMinimal_by_line()
+	{
+		//    A----B-----C--D-----E----------F   : 6 points, 15 - 5 = 10 non-minimal segments
+		Preprocessor line = makePreProcessor("collinear_line_segments.json");
+		Set<Segment> byLine = line.constructAllNonMinimalSegmentsByLine(line._allMinimalSegments);
+		assertEquals(10, byLine.size());
+		assertEquals(line.constructAllNonMinimalSegments(line._allMinimalSegments), byLine);
+
+		for (String json_filename : List.of("crossing_symmetric_triangle.json", "box_with_two_lines.json",
+				                            "star.json", "grid.json", "triangle_with_two_lines.json",
+				                            "fully_connected_irregular_polygon.json"))
+		{
+			Preprocessor pp = makePreProcessor(json_filename);
+			assertEquals(pp.constructAllNonMinimalSegments(pp._allMinimalSegments),
+					     pp.constructAllNonMinimalSegmentsByLine(pp._allMinimalSegments));
+		}
+	}
+
+	@Test
+	void test_incremental_segments()
+	{
+		for (String json_filename : List.of("crossing_symmetric_triangle.json", "box_with_two_lines.json",
+				                            "star.json", "collinear_line_segments.json", "triangle_with_two_lines.json",
+				                            "fully_connected_irregular_polygon.json"))
+		{
+			for (boolean compact : List.of(false, true))
+			{
+				Map.Entry<PointDatabase, Set<Segment>> pair = geometryOf(json_filename);
+				Preprocessor pp = new Preprocessor(pair.getKey(), pair.getValue(), compact);
+				Map<Segment, Segment> database = pp.getAllSegments();
+				int given = pair.getValue().size();
+
+				//the edits neither change the caller's set nor rebuild the (compact) database
+				for (Segment segment : pair.getValue())
+				{
+					//remove each given segment: same as analyzing the figure without it
+					assertTrue(pp.removeSegment(segment));
+					assertFalse(pp.removeSegment(segment));
+
+					Map.Entry<PointDatabase, Set<Segment>> without = geometryOf(json_filename);
+					without.getValue().remove(segment);
+					assertSameAnalysis(new Preprocessor(without.getKey(), without.getValue(), compact), pp);
+
+					//and put it back
+					assertTrue(pp.addSegment(segment));
+					assertFalse(pp.addSegment(segment));
+
+					Map.Entry<PointDatabase, Set<Segment>> with = geometryOf(json_filename);
+					assertSameAnalysis(new Preprocessor(with.getKey(), with.getValue(), compact), pp);
+				}
+
+				assertEquals(given, pair.getValue().size());
+				if (compact) assertSame(database, pp.getAllSegments());
+			}
+		}
+	}
+
+	@Test
+	void test_incremental_welded_segments()
+	{
+		Map.Entry<PointDatabase, Set<Segment>> pair = geometryOf("crossing_symmetric_triangle.json");
+		Preprocessor pp = new Preprocessor(pair.getKey(), pair.getValue());
+
+		//collapses to a point when welded: rejected, and the figure is unchanged
+		assertFalse(pp.addSegment(new Segment(new Point(0.5, 0.5), new Point(0.5, 0.5 + 1e-7))));
+
+		//a drifted copy of a given segment
+		Segment given = pp._givenSegments.iterator().next();
+		Point drifted = new Point(given.getPoint1().getX() + 1e-7, given.getPoint1().getY() - 1e-7);
+		assertFalse(pp.addSegment(new Segment(drifted, given.getPoint2())));
+
+		Map.Entry<PointDatabase, Set<Segment>> fresh = geometryOf("crossing_symmetric_triangle.json");
+		assertSameAnalysis(new Preprocessor(fresh.getKey(), fresh.getValue()), pp);
+	}
+
+	@Test
+	void test_incremental_points()
+	{
+		//  A--------X--------B  : X splits AB
+		Map.Entry<PointDatabase, Set<Segment>> pair = geometryOf("crossing_symmetric_triangle.json");
+		Preprocessor pp = new Preprocessor(pair.getKey(), pair.getValue());
+
+		Segment base = pp._givenSegments.stream().filter((seg) -> seg.getPoint1().getY() == 0 && seg.getPoint2().getY() == 0)
+				                             .findFirst().orElseThrow();
+		Point middle = new Point("X", (base.getPoint1().getX() + base.getPoint2().getX()) / 2, 0);
+
+		int minimal = pp._allMinimalSegments.size();
+		int nonMinimal = pp._nonMinimalSegments.size();
+
+		assertEquals(middle, pp.addPoint(middle));
+		assertFalse(pp._allMinimalSegments.contains(base));
+		assertTrue(pp._nonMinimalSegments.contains(base));
+		assertEquals(minimal + 1, pp._allMinimalSegments.size());
+		assertEquals(nonMinimal + 1, pp._nonMinimalSegments.size());
+		assertTrue(pp.getAllSegments().containsKey(new Segment(base.getPoint1(), middle)));
+
+		//adding an existing point changes nothing
+		assertEquals(middle, pp.addPoint(new Point(middle.getX(), middle.getY())));
+		assertEquals(minimal + 1, pp._allMinimalSegments.size());
+	}
+
+	private Map.Entry<PointDatabase, Set<Segment>> geometryOf(String json_filename)
+	{
+		return InputFacade.toGeometryRepresentation(InputFacade.extractFigure(json_filename));
+	}
+
+	private void assertSameAnalysis(Preprocessor expected, Preprocessor actual)
+	{
+		assertEquals(expected._implicitPoints, actual._implicitPoints);
+		assertEquals(expected._implicitSegments, actual._implicitSegments);
+		assertEquals(expected._allMinimalSegments, actual._allMinimalSegments);
+		assertEquals(expected._nonMinimalSegments, new HashSet<Segment>(actual._nonMinimalSegments));
+		assertEquals(expected.getAllSegments().keySet(), new HashSet<Segment>(actual.getAllSegments().keySet()));
+		assertEquals(expected._pointDatabase.getPoints(), actual._pointDatabase.getPoints());
+	}
+}
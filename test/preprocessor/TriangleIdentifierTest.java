@@ -4,9 +4,14 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -373,4 +378,106 @@ class TriangleIdentifierTest
 		Set<Triangle> computedTriangles = triIdentifier.getTriangles();
 		assertEquals(10, computedTriangles.size());
 	}
+
+	@Test
+	void test_matches_triples() throws NotInDatabaseException
+	{
+		for (String fixture : List.of("arrow_pointing_right.json", "box_with_two_lines.json", "collinear_line_segments.json",
+				                      "crossing_symmetric_triangle.json", "divided_square.json", "equilateral_triange.json",
+				                      "four_point_star.json", "fully_connected_irregular_polygon.json", "grid.json",
+				                      "single_triangle.json", "square_four_interior_implied.json",
+				                      "square_four_interior_triangle.json", "star.json",
+				                      "triangle_with_three_triangles_inside.json", "triangle_with_two_lines.json",
+				                      "two_separate_triangles.json"))
+		{
+			init(fixture);
+			TriangleIdentifier triIdentifier = new TriangleIdentifier(_segments);
+			long count = triIdentifier.countTriangles();
+			assertEquals(triIdentifier.computeTrianglesByTriples(), triIdentifier.getTriangles(), fixture);
+			assertEquals(triIdentifier.getTriangles().size(), count, fixture);
+		}
+	}
+
+	@Test
+	void test_parallel() throws NotInDatabaseException
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try
+		{
+			for (String fixture : List.of("crossing_symmetric_triangle.json", "fully_connected_irregular_polygon.json",
+					                      "grid.json", "star.json", "two_separate_triangles.json"))
+			{
+				init(fixture);
+				assertEquals(new TriangleIdentifier(_segments).getTriangles(),
+						     new TriangleIdentifier(_segments, pool).getTriangles(), fixture);
+			}
+
+			// enough segments to be divided among many tasks: pairs of the points of a lattice,
+			// one in six at random (enumerated sparsely) and one in two (densely)
+			List<Point> points = new ArrayList<Point>();
+			for (int x = 0; x < 10; x++)
+				for (int y = 0; y < 10; y++) points.add(new Point(x, y));
+
+			Random random = new Random(1);
+			for (int every : new int[] { 6, 2 })
+			{
+				Map<Segment, Segment> segments = new HashMap<Segment, Segment>();
+				for (int i = 0; i < points.size(); i++)
+					for (int j = i + 1; j < points.size(); j++)
+					{
+						Segment segment = new Segment(points.get(i), points.get(j));
+						if (random.nextInt(every) == 0) segments.put(segment, segment);
+					}
+
+				Set<Triangle> sequential = new TriangleIdentifier(segments).getTriangles();
+				assertEquals(sequential, new TriangleIdentifier(segments, pool).getTriangles());
+				assertTrue(sequential.size() > 500);
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void test_stream() throws NotInDatabaseException
+	{
+		for (String fixture : List.of("crossing_symmetric_triangle.json", "fully_connected_irregular_polygon.json",
+				                      "grid.json", "star.json", "two_separate_triangles.json"))
+		{
+			init(fixture);
+			Set<Triangle> expected = new TriangleIdentifier(_segments).getTriangles();
+
+			TriangleIdentifier triIdentifier = new TriangleIdentifier(_segments);
+			List<Triangle> streamed = triIdentifier.triangles().toList();
+			assertEquals(expected.size(), streamed.size(), fixture);
+			assertEquals(expected, Set.copyOf(streamed), fixture);
+
+			// split among threads; nothing memoized
+			assertEquals(expected, triIdentifier.triangles().parallel().collect(Collectors.toSet()), fixture);
+			assertEquals(expected.size(), triIdentifier.triangles().parallel().count(), fixture);
+			assertNull(triIdentifier._triangles);
+
+			// one at a time (tryAdvance)
+			Set<Triangle> iterated = new HashSet<Triangle>();
+			triIdentifier.triangles().iterator().forEachRemaining(iterated::add);
+			assertEquals(expected, iterated, fixture);
+		}
+
+		// a figure large enough to split many times
+		Random random = new Random(1);
+		Map<Segment, Segment> segments = new HashMap<Segment, Segment>();
+		for (int i = 0; i < 100; i++)
+			for (int j = i + 1; j < 100; j++)
+			{
+				Segment segment = new Segment(new Point(i / 10, i % 10), new Point(j / 10, j % 10));
+				if (random.nextInt(6) == 0) segments.put(segment, segment);
+			}
+
+		Set<Triangle> expected = new TriangleIdentifier(segments).getTriangles();
+		assertEquals(expected.size(), new TriangleIdentifier(segments).triangles().parallel().count());
+		assertEquals(expected, new TriangleIdentifier(segments).triangles().parallel().collect(Collectors.toSet()));
+	}
 }
@@ -0,0 +1,87 @@
+package preprocessor.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import components.FigureNode;
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+import preprocessor.Preprocessor;
+
+class BitsetAdjacencyTest
+{
+	private static Set<Set<Segment>> triangles(VertexAdjacency adjacency)
+	{
+		Set<Set<Segment>> triangles = new HashSet<Set<Segment>>();
+		adjacency.forEachTriangle((uv, vw, uw) -> triangles.add(Set.of(uv, vw, uw)));
+		return triangles;
+	}
+
+	@Test
+	void test_matches_sparse()
+	{
+		for (String fixture : List.of("collinear_line_segments.json", "crossing_symmetric_triangle.json", "four_point_star.json",
+				                      "fully_connected_irregular_polygon.json", "grid.json", "star.json"))
+		{
+			FigureNode fig = InputFacade.extractFigure(fixture);
+			Map.Entry<PointDatabase, Set<Segment>> pair = InputFacade.toGeometryRepresentation(fig);
+
+			Preprocessor pp = new Preprocessor(pair.getKey(), pair.getValue());
+			pp.analyze();
+
+			VertexAdjacency sparse = new VertexAdjacency(pp.getAllSegments().keySet());
+			BitsetAdjacency dense = new BitsetAdjacency(sparse);
+
+			assertEquals(triangles(sparse), triangles(dense), fixture);
+			assertEquals(sparse.countTriangles(), dense.countTriangles(), fixture);
+			assertEquals(triangles(sparse).size(), dense.countTriangles(), fixture);
+		}
+	}
+
+	//
+	// All pairs of the points of a lattice (the 9 x 9 one spans two bitset words):
+	// the collinear triples are masked out
+	//
+	@Test
+	void test_complete_lattice()
+	{
+		for (int size : new int[] { 5, 9 })
+		{
+			List<Point> points = new ArrayList<Point>();
+			for (int x = 0; x < size; x++)
+				for (int y = 0; y < size; y++) points.add(new Point(x, y));
+
+			List<Segment> segments = new ArrayList<Segment>();
+			for (int i = 0; i < points.size(); i++)
+				for (int j = i + 1; j < points.size(); j++) segments.add(new Segment(points.get(i), points.get(j)));
+
+			VertexAdjacency adjacency = VertexAdjacency.of(segments);
+			assertTrue(adjacency instanceof BitsetAdjacency);
+
+			// every triple of points, less the collinear ones
+			long expected = 0;
+			for (int i = 0; i < points.size(); i++)
+				for (int j = i + 1; j < points.size(); j++)
+					for (int k = j + 1; k < points.size(); k++)
+					{
+						Point a = points.get(i), b = points.get(j), c = points.get(k);
+						double cross = (b.getX() - a.getX()) * (c.getY() - a.getY()) - (b.getY() - a.getY()) * (c.getX() - a.getX());
+						if (cross != 0) expected++;
+					}
+
+			assertEquals(expected, adjacency.countTriangles());
+			assertEquals(expected, triangles(adjacency).size());
+			assertEquals(expected, new VertexAdjacency(segments).countTriangles());
+		}
+	}
+}
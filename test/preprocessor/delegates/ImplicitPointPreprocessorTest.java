@@ -0,0 +1,88 @@
+package preprocessor.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import components.FigureNode;
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+
+class ImplicitPointPreprocessorTest
+{
+	private Map.Entry<PointDatabase, Set<Segment>> read(String json_filename)
+	{
+		FigureNode fig = InputFacade.extractFigure(json_filename);
+
+		return InputFacade.toGeometryRepresentation(fig);
+	}
+
+	//
+	// The sweep line must report the same implicit points as the pairwise reference
+	//
+	private void assertSameAsPairwise(String json_filename, int expected)
+	{
+		Map.Entry<PointDatabase, Set<Segment>> sweepPair = read(json_filename);
+		Set<Point> sweep = ImplicitPointPreprocessor.compute(sweepPair.getKey(),
+				                                             new ArrayList<Segment>(sweepPair.getValue()));
+
+		Map.Entry<PointDatabase, Set<Segment>> refPair = read(json_filename);
+		Set<Point> pairwise = ImplicitPointPreprocessor.computePairwise(refPair.getKey(),
+				                                                        new ArrayList<Segment>(refPair.getValue()));
+
+		assertEquals(expected, pairwise.size());
+		assertEquals(pairwise.size(), sweep.size());
+
+		for (Point point : sweep)
+		{
+			assertTrue(pairwise.stream().anyMatch(point::equals));
+		}
+	}
+
+	@Test
+	void test_sweep_matches_pairwise()
+	{
+		assertSameAsPairwise("grid.json", 0);
+		assertSameAsPairwise("star.json", 5);
+		assertSameAsPairwise("crossing_symmetric_triangle.json", 1);
+		assertSameAsPairwise("box_with_two_lines.json", 5);
+		assertSameAsPairwise("fully_connected_irregular_polygon.json", 5);
+		assertSameAsPairwise("triangle_with_two_lines.json", 0);
+		assertSameAsPairwise("collinear_line_segments.json", 0);
+	}
+
+	//
+	//      G   E
+	//      |  /
+	//  A---*-*-C---B     AC overlaps AB; E is an endpoint on FG, C an endpoint on DE:
+	//      |/            only the two proper crossings are implicit points.
+	//      |   D
+	//      F
+	//
+	@Test
+	void test_degenerate_crossings()
+	{
+		PointDatabase points = new PointDatabase();
+		ArrayList<Segment> segments = new ArrayList<Segment>();
+
+		segments.add(new Segment(new Point("A", 0, 1), new Point("B", 3, 1)));
+		segments.add(new Segment(new Point("A", 0, 1), new Point("C", 2, 1)));
+		segments.add(new Segment(new Point("D", 3, 0), new Point("E", 1, 2)));
+		segments.add(new Segment(new Point("F", 1, -1), new Point("G", 1, 3)));
+
+		Set<Point> sweep = ImplicitPointPreprocessor.compute(points, segments);
+
+		assertEquals(2, sweep.size());
+		assertTrue(sweep.contains(new Point(1, 1)));
+		assertTrue(sweep.contains(new Point(2, 1)));
+		assertFalse(sweep.contains(new Point(1, 2)));
+	}
+}
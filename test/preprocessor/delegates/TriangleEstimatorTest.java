@@ -0,0 +1,77 @@
+package preprocessor.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+
+class TriangleEstimatorTest
+{
+	/*
+	 * Pairs of the points of a size x size lattice, each kept with probability @density
+	 */
+	private static List<Segment> randomGraph(int size, double density)
+	{
+		List<Point> points = new ArrayList<Point>();
+		for (int x = 0; x < size; x++)
+			for (int y = 0; y < size; y++) points.add(new Point(x, y));
+
+		Random random = new Random(1);
+		List<Segment> segments = new ArrayList<Segment>();
+		for (int i = 0; i < points.size(); i++)
+			for (int j = i + 1; j < points.size(); j++)
+				if (random.nextDouble() < density) segments.add(new Segment(points.get(i), points.get(j)));
+
+		return segments;
+	}
+
+	@Test
+	void test_exact_within_budget()
+	{
+		VertexAdjacency adjacency = VertexAdjacency.of(randomGraph(8, 0.2));
+
+		CountEstimate estimate = new TriangleEstimator(adjacency, 1).estimate(Duration.ofMinutes(1));
+
+		assertTrue(estimate.isExact());
+		assertEquals(adjacency.countTriangles(), estimate.value());
+		assertEquals(estimate.value(), estimate.low());
+		assertEquals(estimate.value(), estimate.high());
+
+		assertEquals(0, new TriangleEstimator(new VertexAdjacency(List.of()), 1).estimate(Duration.ZERO).value());
+	}
+
+	@Test
+	void test_interval()
+	{
+		for (double density : new double[] { 0.1, 0.5 })
+		{
+			VertexAdjacency adjacency = VertexAdjacency.of(randomGraph(14, density));
+			long exact = adjacency.countTriangles();
+
+			// no budget: a single batch of entries is sampled
+			int covered = 0;
+			for (int seed = 0; seed < 100; seed++)
+			{
+				CountEstimate estimate = new TriangleEstimator(adjacency, seed).estimate(Duration.ZERO);
+
+				assertFalse(estimate.isExact());
+				assertTrue(estimate.samples() < estimate.population());
+				assertTrue(estimate.low() <= estimate.value() && estimate.value() <= estimate.high());
+
+				if (estimate.low() <= exact && exact <= estimate.high()) covered++;
+			}
+
+			// a 95% interval (the normal approximation on a small sample may fall a little short)
+			assertTrue(covered >= 85, "covered " + covered + " of 100");
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package preprocessor.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+
+class UniformGridIndexTest
+{
+	//
+	// A 10 x 10 lattice of points with every row and column as a segment
+	//
+	private List<Segment> lattice(List<Point> points)
+	{
+		List<Segment> segments = new ArrayList<Segment>();
+
+		for (int i = 0; i < 10; i++)
+		{
+			for (int j = 0; j < 10; j++) points.add(new Point(i, j));
+
+			segments.add(new Segment(new Point(i, 0), new Point(i, 9)));
+			segments.add(new Segment(new Point(0, i), new Point(9, i)));
+		}
+
+		return segments;
+	}
+
+	@Test
+	void test_points_near()
+	{
+		List<Point> points = new ArrayList<Point>();
+		List<Segment> segments = lattice(points);
+
+		UniformGridIndex index = new UniformGridIndex(points, segments);
+
+		for (Segment segment : segments)
+		{
+			List<Point> near = index.pointsNear(segment);
+
+			// every point on the segment is a candidate; far away points are not
+			assertEquals(10, near.stream().filter(segment::pointLiesOnSegment).count());
+			assertTrue(near.size() < points.size());
+		}
+
+		Segment diagonal = new Segment(new Point(0, 0), new Point(9, 9));
+		assertEquals(10, diagonal.collectOrderedPointsOnSegment(index.pointsNear(diagonal)).size());
+	}
+
+	@Test
+	void test_segments_near()
+	{
+		List<Segment> segments = new ArrayList<Segment>();
+		segments.add(new Segment(new Point(0, 0), new Point(1, 1)));
+		segments.add(new Segment(new Point(0, 1), new Point(1, 0)));
+		segments.add(new Segment(new Point(70, 70), new Point(71, 71)));
+		segments.add(new Segment(new Point(0, 100), new Point(100, 100)));
+
+		UniformGridIndex index = new UniformGridIndex(segments);
+
+		Set<Segment> near = index.segmentsNear(segments.get(0));
+		assertTrue(near.contains(segments.get(1)));
+		assertFalse(near.contains(segments.get(0)));
+		assertFalse(near.contains(segments.get(2)));
+		assertFalse(near.contains(segments.get(3)));
+	}
+
+	@Test
+	void test_gridded_pairwise_crossings()
+	{
+		List<Point> points = new ArrayList<Point>();
+		List<Segment> segments = lattice(points);
+		segments.add(new Segment(new Point(0.5, 0), new Point(0.5, 9)));
+
+		UniformGridIndex index = new UniformGridIndex(segments);
+
+		// 8 x 8 interior lattice crossings; the extra column crosses the 8 interior rows
+		Set<Point> crossings = ImplicitPointPreprocessor.computePairwise(new PointDatabase(), segments, index);
+		assertEquals(72, crossings.size());
+		assertEquals(ImplicitPointPreprocessor.computePairwise(new PointDatabase(), segments).size(), crossings.size());
+	}
+}
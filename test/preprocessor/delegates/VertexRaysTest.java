@@ -0,0 +1,60 @@
+package preprocessor.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+
+class VertexRaysTest
+{
+	//
+	//    A-------B----C-----------D
+	//     \
+	//      E------F
+	//
+	@Test
+	void test_rays()
+	{
+		Point a = new Point("A", 0, 0), b = new Point("B", 8, 0), c = new Point("C", 13, 0), d = new Point("D", 25, 0);
+		Point e = new Point("E", 2, -2), f = new Point("F", 9, -2);
+
+		List<Segment> segments = List.of(new Segment(a, b), new Segment(a, c), new Segment(a, d), new Segment(b, c),
+				                         new Segment(b, d), new Segment(c, d), new Segment(a, e), new Segment(e, f));
+		VertexRays rays = new VertexRays(segments);
+
+		// A: {AB, AC, AD}, {AE}; B: {BA}, {BC, BD}; C: {CA, CB}, {CD}; D: {DA, DB, DC}; E: {EA}, {EF}; F: {FE}
+		assertEquals(10, rays.rayCount());
+		assertEquals(3 + 2 + 2 + 0 + 1 + 0, rays.countAngles());
+		assertEquals(1 + 1 + 1 + 0 + 1 + 0, rays.countAngleClasses());
+	}
+
+	//
+	// Rays pointing left from the vertex straddle the direction pi: one with a slightly
+	// positive y, one with a slightly negative y (within epsilon) are the same ray
+	//
+	@Test
+	void test_rays_across_pi()
+	{
+		Point vertex = new Point(0, 0);
+
+		List<Segment> segments = new ArrayList<Segment>();
+		segments.add(new Segment(vertex, new Point(-5, 1e-7)));
+		segments.add(new Segment(vertex, new Point(-9, -1e-7)));
+		segments.add(new Segment(vertex, new Point(3, 4)));
+		segments.add(new Segment(vertex, new Point(0, -7)));
+
+		VertexRays rays = new VertexRays(segments);
+
+		int v = 0;
+		while (!rays.vertex(v).equals(vertex)) v++;
+
+		assertEquals(3, rays.firstRay(v + 1) - rays.firstRay(v));
+		assertEquals(2 + 2 + 1, rays.countAngles());
+		assertEquals(3, rays.countAngleClasses());
+	}
+}
@@ -0,0 +1,77 @@
+package preprocessor.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import input.components.exception.NotInDatabaseException;
+
+class VertexWelderTest
+{
+	@Test
+	void test_weld_to_database() throws NotInDatabaseException
+	{
+		PointDatabase database = new PointDatabase(List.of(new Point("A", 0, 0), new Point("B", 4, 0), new Point("C", 0, 4)));
+		Point a = database.getPoint("A");
+		Point b = database.getPoint("B");
+
+		VertexWelder welder = new VertexWelder(database);
+
+		// drifted copies weld to the database objects
+		assertSame(a, welder.weld(new Point(1e-8, -1e-8)));
+		assertSame(b, welder.weld(new Point("other", 4 - 9e-7, 0)));
+		assertSame(a, welder.weld(a));
+		assertEquals(2, welder.getWelded());
+
+		// a segment already on the database objects is kept as is
+		Segment ab = new Segment(a, b);
+		assertSame(ab, welder.weld(ab));
+
+		Segment drifted = welder.weld(new Segment(new Point(0, 4 + 1e-7), new Point(4, 1e-7)));
+		assertSame(database.getPoint("C"), drifted.getPoint1());
+		assertSame(b, drifted.getPoint2());
+
+		// collapses to a point
+		assertNull(welder.weld(new Segment(new Point(0, 0), new Point(0, 5e-7))));
+	}
+
+	@Test
+	void test_weld_foreign_points()
+	{
+		VertexWelder welder = new VertexWelder(new PointDatabase());
+
+		Point first = new Point(2, 2);
+		assertSame(first, welder.weld(first));
+		assertSame(first, welder.weld(new Point(2 + 5e-7, 2 - 5e-7)));
+		assertEquals(new Point(3, 2), welder.weld(new Point(3, 2)));
+
+		// segments that become the same segment (or a point) are dropped
+		List<Segment> segments = new ArrayList<Segment>();
+		segments.add(new Segment(new Point(2, 2), new Point(3, 2)));
+		segments.add(new Segment(new Point(3, 2 + 1e-7), new Point(2 - 1e-7, 2)));
+		segments.add(new Segment(new Point(3, 2), new Point(3, 2 + 1e-7)));
+		segments.add(new Segment(new Point(3, 2), new Point(3, 3)));
+
+		Set<Segment> welded = welder.weldSegments(segments);
+		assertEquals(2, welded.size());
+
+		for (Segment segment : welded)
+		{
+			assertSame(welder.weld(segment.getPoint1()), segment.getPoint1());
+			assertSame(welder.weld(segment.getPoint2()), segment.getPoint2());
+		}
+
+		// implicit points found from several pairs are one object
+		Set<Point> points = welder.weldPoints(List.of(new Point(5, 5), new Point(5, 5 + 3e-7), new Point(5 - 3e-7, 5)));
+		assertEquals(1, points.size());
+	}
+}
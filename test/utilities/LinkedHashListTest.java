@@ -0,0 +1,51 @@
+package utilities;
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class LinkedHashListTest {
+
+	@Test
+	void testAddToBack() {
+		LinkedHashList<String> list = new LinkedHashList<String>();
+		assertTrue(list.isEmpty());
+		assertEquals("", list.toString());
+
+		assertTrue(list.addToBack("a"));
+		assertTrue(list.addToBack("b"));
+		assertTrue(list.addToBack("c"));
+		assertFalse(list.addToBack("b"));
+
+		assertEquals(3, list.size());
+		assertEquals("a,b,c,", list.toString());
+		assertTrue(list.contains("b"));
+		assertFalse(list.contains("d"));
+	}
+
+	@Test
+	void testRemove() {
+		LinkedHashList<String> list = new LinkedHashList<String>();
+		list.addToBack("a");
+		list.addToBack("b");
+		list.addToBack("c");
+
+		assertTrue(list.remove("b"));
+		assertFalse(list.remove("b"));
+		assertFalse(list.contains("b"));
+		assertEquals("a,c,", list.toString());
+
+		// removed then added again: at the back
+		list.addToBack("b");
+		assertEquals("a,c,b,", list.toString());
+
+		assertEquals("a", list.removeFirst());
+		assertEquals("c", list.removeFirst());
+		assertEquals("b", list.removeFirst());
+		assertNull(list.removeFirst());
+		assertTrue(list.isEmpty());
+
+		list.addToBack("a");
+		list.clear();
+		assertEquals(0, list.size());
+	}
+}
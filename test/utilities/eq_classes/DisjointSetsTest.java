@@ -0,0 +1,95 @@
+package utilities.eq_classes;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DisjointSetsTest {
+
+	@Test
+	void unionTest() {
+		DisjointSets sets = new DisjointSets(2);
+		for(int i = 0; i < 6; i++) assertEquals(i, sets.makeSet());
+
+		assertEquals(6, sets.size());
+		assertEquals(6, sets.setCount());
+		assertFalse(sets.sameSet(0, 1));
+
+		sets.union(0, 1);
+		sets.union(2, 3);
+		sets.union(3, 4);
+		assertEquals(3, sets.setCount());
+		assertTrue(sets.sameSet(1, 0));
+		assertTrue(sets.sameSet(2, 4));
+		assertFalse(sets.sameSet(1, 2));
+		assertEquals(3, sets.setSize(4));
+
+		// already one set
+		assertEquals(sets.find(2), sets.union(4, 2));
+		assertEquals(3, sets.setCount());
+
+		sets.union(1, 4);
+		assertEquals(2, sets.setCount());
+		assertEquals(5, sets.setSize(0));
+
+		List<Integer> members = new ArrayList<>();
+		sets.forEachInSet(3, members::add);
+		assertEquals(3, members.get(0));
+		assertEquals(List.of(0, 1, 2, 3, 4), members.stream().sorted().toList());
+
+		members.clear();
+		sets.forEachInSet(5, members::add);
+		assertEquals(List.of(5), members);
+	}
+
+	@Test
+	void randomTest() {
+		// against a labelling of each id with its set
+		Random random = new Random(25);
+		int n = 300;
+
+		DisjointSets sets = new DisjointSets();
+		int[] label = new int[n];
+		for(int i = 0; i < n; i++) {
+			sets.makeSet();
+			label[i] = i;
+		}
+
+		int count = n;
+		for(int step = 0; step < 250; step++) {
+			int a = random.nextInt(n), b = random.nextInt(n);
+			if(label[a] != label[b]) {
+				int old = label[b];
+				for(int i = 0; i < n; i++) if(label[i] == old) label[i] = label[a];
+				count--;
+			}
+			sets.union(a, b);
+
+			assertEquals(count, sets.setCount());
+		}
+
+		for(int a = 0; a < n; a++) {
+			for(int b = 0; b < n; b++) assertEquals(label[a] == label[b], sets.sameSet(a, b));
+		}
+
+		// the roots and their cycles cover every id once
+		boolean[] seen = new boolean[n];
+		for(int k = 0; k < sets.setCount(); k++) {
+			int root = sets.root(k);
+			assertEquals(root, sets.find(root));
+
+			int[] size = {0};
+			sets.forEachInSet(root, id -> {
+				assertFalse(seen[id]);
+				assertEquals(label[root], label[id]);
+				seen[id] = true;
+				size[0]++;
+			});
+			assertEquals(sets.setSize(root), size[0]);
+		}
+		for(boolean s : seen) assertTrue(s);
+	}
+}
@@ -210,4 +210,42 @@ class EquivilanceClassesTest {
 		_classes.add(5);
 		assertEquals(3, _classes.numClasses());	
 	}
+
+	@Test
+	void keyTest() {
+		Comparator<Integer> c = new Comparator<Integer>() {
+			public int compare(Integer x, Integer y) 
+			{ return x % 3 == y % 3 ? 0 : 1; }
+		};
+
+		// classes found by key give the same classes as the comparator alone
+		EquivalenceClasses<Integer> keyed = new EquivalenceClasses<>(c, x -> x % 3);
+		EquivalenceClasses<Integer> compared = new EquivalenceClasses<>(c);
+
+		for(int x : new int[] {4, 3, 5, 7, 9, 4, 11, 0}) {
+			assertEquals(compared.add(x), keyed.add(x));
+			assertEquals(compared.numClasses(), keyed.numClasses());
+			assertEquals(compared.size(), keyed.size());
+		}
+		assertEquals(compared.toString(), keyed.toString());
+
+		assertFalse(keyed.add(null));
+		assertFalse(keyed.contains(null));
+		assertTrue(keyed.contains(7));
+		assertFalse(keyed.contains(8));
+
+		// a class added whole is found by the key of its canonical
+		LinkedEquivalenceClass<Integer> equivalence = new LinkedEquivalenceClass<>(c);
+		assertFalse(keyed.addClass(equivalence));
+		assertEquals(3, keyed.numClasses());
+
+		keyed = new EquivalenceClasses<>(c, x -> x % 3);
+		equivalence.add(8);
+		equivalence.add(2);
+		assertTrue(keyed.addClass(equivalence));
+		assertTrue(keyed.contains(2));
+		assertFalse(keyed.add(5));
+		assertEquals(1, keyed.numClasses());
+		assertEquals(3, keyed.size());
+	}
 }
@@ -0,0 +1,103 @@
+package utilities.eq_classes;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UnionFindEquivalenceClassesTest {
+
+	Comparator<Integer> c = new Comparator<Integer>() {
+		public int compare(Integer x, Integer y)
+		{ return x % 3 == y % 3 ? 0 : 1; }
+	};
+
+	@Test
+	void addTest() {
+		// the same classes as EquivalenceClasses, with a key or the comparator
+		EquivalenceClasses<Integer> compared = new EquivalenceClasses<>(c);
+		UnionFindEquivalenceClasses<Integer> keyed = new UnionFindEquivalenceClasses<>(c, x -> x % 3);
+		UnionFindEquivalenceClasses<Integer> scanned = new UnionFindEquivalenceClasses<>(c);
+
+		for(int x : new int[] {4, 3, 5, 7, 9, 4, 11, 0}) {
+			boolean added = compared.add(x);
+			assertEquals(added, keyed.add(x));
+			assertEquals(added, scanned.add(x));
+
+			assertEquals(compared.numClasses(), keyed.numClasses());
+			assertEquals(compared.numClasses(), scanned.numClasses());
+			assertEquals(compared.size(), keyed.size());
+			assertEquals(compared.size(), scanned.size());
+		}
+
+		assertFalse(keyed.add(null));
+		assertFalse(keyed.contains(null));
+		assertTrue(keyed.contains(7));
+		assertFalse(keyed.contains(10));
+
+		assertTrue(keyed.sameClass(4, 7));
+		assertTrue(scanned.sameClass(3, 0));
+		assertFalse(keyed.sameClass(4, 5));
+		assertEquals(keyed.find(4), keyed.find(7));
+		assertNull(keyed.find(10));
+	}
+
+	@Test
+	void unionTest() {
+		UnionFindEquivalenceClasses<Integer> classes = new UnionFindEquivalenceClasses<>(c, x -> x % 3);
+		for(int x = 0; x < 9; x++) classes.add(x);
+		assertEquals(3, classes.numClasses());
+
+		// merging two classes
+		assertTrue(classes.union(1, 5));
+		assertFalse(classes.union(4, 8));
+		assertEquals(2, classes.numClasses());
+		assertEquals(9, classes.size());
+		assertTrue(classes.sameClass(7, 2));
+		assertFalse(classes.sameClass(7, 3));
+
+		List<Integer> members = new ArrayList<>();
+		classes.forEachMember(7, members::add);
+		assertEquals(7, members.get(0));
+		assertEquals(List.of(1, 2, 4, 5, 7, 8), members.stream().sorted().toList());
+
+		// added elements join the merged class, by their key
+		assertFalse(classes.add(10));
+		assertTrue(classes.sameClass(10, 2));
+
+		// union adds elements not here yet (12 by its key in the class of 0)
+		assertFalse(classes.union(0, 12));
+		assertTrue(classes.union(12, 11));
+		assertEquals(1, classes.numClasses());
+		assertEquals(12, classes.size());
+
+		List<LinkedEquivalenceClass<Integer>> all = classes.getClasses();
+		assertEquals(1, all.size());
+		assertEquals(12, all.get(0).size());
+		assertEquals(classes.find(3), all.get(0).canonical());
+	}
+
+	@Test
+	void addClassTest() {
+		UnionFindEquivalenceClasses<Integer> classes = new UnionFindEquivalenceClasses<>(c, x -> x % 3);
+
+		LinkedEquivalenceClass<Integer> equivalence = new LinkedEquivalenceClass<>(c);
+		assertFalse(classes.addClass(equivalence));
+
+		equivalence.add(2);
+		equivalence.add(5);
+		equivalence.add(8);
+		assertTrue(classes.addClass(equivalence));
+		assertEquals(1, classes.numClasses());
+		assertEquals(3, classes.size());
+
+		assertFalse(classes.add(11));
+		assertTrue(classes.sameClass(11, 5));
+
+		List<Integer> representatives = new ArrayList<>();
+		classes.forEachClass(representatives::add);
+		assertEquals(List.of(classes.find(2)), representatives);
+	}
+}
@@ -0,0 +1,171 @@
+package utilities.math.analytic_geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import geometry_objects.Segment;
+import geometry_objects.points.Point;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+import preprocessor.Preprocessor;
+import utilities.math.MathUtilities;
+
+class GeometryPredicatesTest
+{
+	private static final List<String> FIXTURES = List.of("arrow_pointing_right.json", "box_with_two_lines.json",
+			"collinear_line_segments.json", "crossing_symmetric_triangle.json", "divided_square.json",
+			"equilateral_triange.json", "four_point_star.json", "fully_connected_irregular_polygon.json", "grid.json",
+			"single_triangle.json", "square_four_interior_implied.json", "square_four_interior_triangle.json",
+			"star.json", "triangle_with_three_triangles_inside.json", "triangle_with_two_lines.json",
+			"two_separate_triangles.json", "generated/complete_12.json", "generated/fan_12x6.json");
+
+	/*
+	 * The slope comparison LineDelegate used before the kernel
+	 */
+	private static boolean sameSlopeReference(Segment s1, Segment s2)
+	{
+		double slope1, slope2;
+
+		try { slope1 = GeometryUtilities.slope(s1.getPoint1(), s1.getPoint2()); }
+		catch (ArithmeticException ae) { slope1 = Double.POSITIVE_INFINITY; }
+
+		try { slope2 = GeometryUtilities.slope(s2.getPoint1(), s2.getPoint2()); }
+		catch (ArithmeticException ae) { slope2 = Double.POSITIVE_INFINITY; }
+
+		return MathUtilities.doubleEquals(slope1, slope2);
+	}
+
+	private static boolean between(Point m, Point a, Point b)
+	{
+		return GeometryPredicates.between(m.getX(), m.getY(), a.getX(), a.getY(), b.getX(), b.getY());
+	}
+
+	@Test
+	void test_fixtures_agree_with_epsilon_semantics()
+	{
+		for (String fixture : FIXTURES)
+		{
+			Map.Entry<PointDatabase, Set<Segment>> pair = InputFacade.toGeometryRepresentation(InputFacade.extractFigure(fixture));
+			Preprocessor pp = new Preprocessor(pair.getKey(), pair.getValue());
+
+			List<Segment> segments = new ArrayList<Segment>(pp.getAllSegments().keySet());
+
+			for (Segment segment : segments)
+			{
+				Point a = segment.getPoint1();
+				Point b = segment.getPoint2();
+
+				for (Point m : pair.getKey().getPoints())
+				{
+					assertEquals(GeometryUtilities.between(m, a, b), between(m, a, b), fixture + " " + m + " " + segment);
+					assertEquals(!segment.has(m) && GeometryUtilities.between(m, a, b),
+							     GeometryPredicates.strictlyBetween(m.getX(), m.getY(), a.getX(), a.getY(), b.getX(), b.getY()));
+				}
+
+				for (Segment other : segments)
+				{
+					assertEquals(sameSlopeReference(segment, other),
+							     GeometryPredicates.sameSlope(a.getX() - b.getX(), a.getY() - b.getY(),
+							    		                      other.getPoint1().getX() - other.getPoint2().getX(),
+							    		                      other.getPoint1().getY() - other.getPoint2().getY()));
+				}
+			}
+		}
+	}
+
+	@Test
+	void test_between_near_tolerance()
+	{
+		Random random = new Random(11);
+
+		for (int trial = 0; trial < 200000; trial++)
+		{
+			Point a = new Point(random.nextInt(200) - 100, random.nextInt(200) - 100);
+			Point b = new Point(random.nextInt(200) - 100, random.nextInt(200) - 100);
+
+			// a point along (or beyond) AB, pushed off the line by about the tolerance width
+			double t = random.nextDouble() * 1.2 - 0.1;
+			double offset = (random.nextDouble() - 0.5) * 4 * Math.sqrt(MathUtilities.EPSILON * Point.distance(a, b));
+			double length = Math.max(Point.distance(a, b), 1);
+			double dx = (b.getX() - a.getX()) / length, dy = (b.getY() - a.getY()) / length;
+
+			Point m = new Point(a.getX() + t * (b.getX() - a.getX()) - offset * dy,
+					            a.getY() + t * (b.getY() - a.getY()) + offset * dx);
+
+			assertEquals(GeometryUtilities.between(m, a, b), between(m, a, b), m + " " + a + " " + b);
+		}
+	}
+
+	@Test
+	void test_between()
+	{
+		Point a = new Point(0, 0);
+		Point b = new Point(10, 0);
+
+		assertTrue(between(a, a, b));
+		assertTrue(between(b, a, b));
+		assertTrue(between(new Point(5, 0), a, b));
+		assertTrue(between(new Point(5, 1e-4), a, b));
+		assertFalse(between(new Point(5, 1e-2), a, b));
+		assertFalse(between(new Point(10 + 1e-3, 0), a, b));
+		assertFalse(between(new Point(-1, 0), a, b));
+
+		assertFalse(GeometryPredicates.strictlyBetween(0, 0, 0, 0, 10, 0));
+		assertTrue(GeometryPredicates.strictlyBetween(1, 0, 0, 0, 10, 0));
+
+		// a degenerate segment
+		assertTrue(between(a, a, a));
+		assertFalse(between(b, a, a));
+	}
+
+	@Test
+	void test_same_slope()
+	{
+		assertTrue(GeometryPredicates.sameSlope(1, 2, -3, -6));
+		assertFalse(GeometryPredicates.sameSlope(1, 2, 3, 5));
+		assertTrue(GeometryPredicates.sameSlope(1, 0, 7, 0));
+
+		// vertical directions have no slope
+		assertFalse(GeometryPredicates.sameSlope(0, 1, 0, 1));
+		assertFalse(GeometryPredicates.sameSlope(0, 1, 1, 1));
+	}
+
+	@Test
+	void test_orientation_exact()
+	{
+		assertEquals(1, GeometryPredicates.orientation(0, 0, 1, 0, 0, 1));
+		assertEquals(-1, GeometryPredicates.orientation(0, 0, 0, 1, 1, 0));
+		assertEquals(0, GeometryPredicates.orientation(0, 0, 1, 1, 3, 3));
+		assertTrue(GeometryPredicates.collinear(0.1, 0.1, 0.2, 0.2, 0.3, 0.3) ==
+				   (exact(0.1, 0.1, 0.2, 0.2, 0.3, 0.3) == 0));
+
+		// nearly collinear inputs, where the floating-point determinant is unreliable
+		Random random = new Random(5);
+		for (int trial = 0; trial < 20000; trial++)
+		{
+			double ax = 0.5 + Math.ulp(0.5) * random.nextInt(64);
+			double ay = 0.5 + Math.ulp(0.5) * random.nextInt(64);
+			double bx = 12, by = 12, cx = 24, cy = 24;
+
+			assertEquals(exact(ax, ay, bx, by, cx, cy), GeometryPredicates.orientation(ax, ay, bx, by, cx, cy));
+		}
+	}
+
+	private static int exact(double ax, double ay, double bx, double by, double cx, double cy)
+	{
+		BigDecimal left = new BigDecimal(bx).subtract(new BigDecimal(ax)).multiply(new BigDecimal(cy).subtract(new BigDecimal(ay)));
+		BigDecimal right = new BigDecimal(by).subtract(new BigDecimal(ay)).multiply(new BigDecimal(cx).subtract(new BigDecimal(ax)));
+
+		return left.compareTo(right);
+	}
+}
@@ -0,0 +1,116 @@
+package utilities.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import geometry_objects.Segment;
+import geometry_objects.points.PointDatabase;
+import input.InputFacade;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import preprocessor.AngleIdentifier;
+import preprocessor.Preprocessor;
+import preprocessor.TriangleIdentifier;
+
+class StageMetricsTest
+{
+	@AfterEach
+	void disable()
+	{
+		StageMetrics.setEnabled(false);
+	}
+
+	private Preprocessor makePreProcessor(String json_filename)
+	{
+		Map.Entry<PointDatabase, Set<Segment>> pair = InputFacade.toGeometryRepresentation(InputFacade.extractFigure(json_filename));
+
+		return new Preprocessor(pair.getKey(), pair.getValue());
+	}
+
+	@Test
+	void test_disabled()
+	{
+		Preprocessor pp = makePreProcessor("crossing_symmetric_triangle.json");
+		assertTrue(pp.getMetrics().getStages().isEmpty());
+
+		StageMetrics metrics = new StageMetrics();
+		metrics.start("stage", 1).stop(2);
+		assertTrue(metrics.getStages().isEmpty());
+
+		// the shared timer: nothing is allocated per stage
+		assertSame(metrics.start("stage", 1), metrics.start("other", 3));
+	}
+
+	@Test
+	void test_stages()
+	{
+		StageMetrics.setEnabled(true);
+
+		Preprocessor pp = makePreProcessor("crossing_symmetric_triangle.json");
+		StageMetrics metrics = pp.getMetrics();
+
+		assertEquals(List.of("weld", "implicit points", "grid index", "implicit segments", "minimal segments", "non-minimal segments"),
+				     metrics.getStages().stream().map(StageRecord::stage).toList());
+
+		assertEquals(1, metrics.getStage("implicit points").outputSize());
+		assertEquals(4, metrics.getStage("implicit segments").outputSize());
+		assertEquals(pp.getAllSegments().size() - metrics.getStage("minimal segments").outputSize(),
+				     metrics.getStage("non-minimal segments").outputSize());
+		assertEquals(metrics.getStage("minimal segments").outputSize(), metrics.getStage("non-minimal segments").inputSize());
+
+		for (StageRecord stage : metrics.getStages()) assertTrue(stage.nanos() >= 0);
+
+		// analyze() replaces the previous measurements
+		pp.analyze();
+		assertEquals(6, metrics.getStages().size());
+
+		TriangleIdentifier triangles = new TriangleIdentifier(pp.getAllSegments());
+		AngleIdentifier angles = new AngleIdentifier(pp.getAllSegments());
+
+		assertEquals(triangles.getTriangles().size(), triangles.getMetrics().getStage("triangles").outputSize());
+		assertEquals(angles.getAngles().size(), angles.getMetrics().getStage("angles").outputSize());
+		assertEquals(pp.getAllSegments().size(), angles.getMetrics().getStage("angles").inputSize());
+	}
+
+	@Test
+	void test_flight_recorder() throws Exception
+	{
+		Path file = Files.createTempFile("stages", ".jfr");
+
+		try (Recording recording = new Recording())
+		{
+			recording.enable("geometry.Stage").withThreshold(java.time.Duration.ZERO);
+			recording.start();
+
+			Preprocessor pp = makePreProcessor("crossing_symmetric_triangle.json");
+
+			recording.stop();
+			recording.dump(file);
+
+			// Flight Recorder alone does not fill the queryable metrics
+			assertTrue(pp.getMetrics().getStages().isEmpty());
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+				                                  .filter(e -> e.getEventType().getName().equals("geometry.Stage")).toList();
+		Files.delete(file);
+
+		assertEquals(6, events.size());
+
+		RecordedEvent implicit = events.stream().filter(e -> e.getString("stage").equals("implicit points")).findFirst().orElse(null);
+		assertNotNull(implicit);
+		assertEquals(1, implicit.getLong("outputSize"));
+	}
+}